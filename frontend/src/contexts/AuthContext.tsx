@@ -86,6 +86,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
 
       // Store auth data
       authService.setAuthToken(response.token);
+      authService.setRefreshToken(response.refreshToken);
       authService.setUserData(userData);
 
       // Update state
@@ -128,6 +129,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
 
       // Store auth data first
       authService.setAuthToken(response.token);
+      authService.setRefreshToken(response.refreshToken);
       authService.setUserData(user);
 
       // Update state after storage
@@ -149,6 +151,8 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   };
 
   const logout = (): void => {
+    // Revoke tokens on the server; local state is cleared right away regardless
+    void authService.logout();
     handleLogout();
     toast.success("You have been logged out successfully.");
   };
@@ -156,6 +160,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   const handleLogout = (): void => {
     // Clear auth data
     authService.removeAuthToken();
+    authService.removeRefreshToken();
     authService.removeUserData();
 
     // Update state
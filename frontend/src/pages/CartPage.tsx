@@ -274,6 +274,16 @@ const CartItem: React.FC<CartItemProps> = ({
         >
           {item.productName}
         </Link>
+        {item.size && (
+          <p className="text-sm text-secondary-600 mt-1">
+            {item.size} / {item.color}
+          </p>
+        )}
+        {!item.available && (
+          <p className="text-sm text-red-600 mt-1">
+            {item.availableStock > 0 ? `Chỉ còn ${item.availableStock} sản phẩm` : 'Hết hàng'}
+          </p>
+        )}
         <p className="text-lg font-bold text-primary-600 mt-1">
           {formatCurrency(item.productPrice)}
         </p>
@@ -29,6 +29,7 @@ const ProductDetailPage: React.FC = () => {
   
   const [quantity, setQuantity] = useState(1);
   const [selectedImageIndex, setSelectedImageIndex] = useState(0);
+  const [selectedVariantId, setSelectedVariantId] = useState<number | null>(null);
 
   // Fetch product details
   const {
@@ -60,9 +61,15 @@ const ProductDetailPage: React.FC = () => {
 
     if (!product) return;
 
+    if (!selectedVariant) {
+      toast.error('Vui lòng chọn kích cỡ và màu sắc');
+      return;
+    }
+
     try {
       await addToCart({
         productId: product.id,
+        variantId: selectedVariant.id,
         quantity,
       });
     } catch (error) {
@@ -75,8 +82,22 @@ const ProductDetailPage: React.FC = () => {
     navigate(ROUTES.CART);
   };
 
+  // Stock is held per size and color; the product-level count is not what checkout takes from
+  const variants = (product?.variants ?? []).filter((variant) => variant.isActive !== false);
+  const selectedVariant = variants.length === 1
+    ? variants[0]
+    : variants.find((variant) => variant.id === selectedVariantId);
+  const availableStock = selectedVariant
+    ? selectedVariant.stockQuantity
+    : variants.reduce((total, variant) => total + variant.stockQuantity, 0);
+
+  const handleVariantChange = (variantId: number) => {
+    setSelectedVariantId(variantId);
+    setQuantity(1);
+  };
+
   const handleQuantityChange = (newQuantity: number) => {
-    if (newQuantity >= 1 && newQuantity <= (product?.stockQuantity || 1)) {
+    if (newQuantity >= 1 && newQuantity <= (availableStock || 1)) {
       setQuantity(newQuantity);
     }
   };
@@ -146,7 +167,7 @@ const ProductDetailPage: React.FC = () => {
                     -{discountPercentage}%
                   </div>
                 )}
-                {product.stockQuantity === 0 && (
+                {availableStock === 0 && (
                   <div className="absolute inset-0 bg-black bg-opacity-50 flex items-center justify-center">
                     <span className="text-white text-xl font-medium">Hết hàng</span>
                   </div>
@@ -225,15 +246,37 @@ const ProductDetailPage: React.FC = () => {
               <div className="flex items-center space-x-4 mb-6">
                 <span className="text-secondary-600">Tình trạng:</span>
                 <span className={`font-medium ${
-                  product.stockQuantity > 0 ? 'text-green-600' : 'text-red-600'
+                  availableStock > 0 ? 'text-green-600' : 'text-red-600'
                 }`}>
-                  {product.stockQuantity > 0 ? `Còn ${product.stockQuantity} sản phẩm` : 'Hết hàng'}
+                  {availableStock > 0 ? `Còn ${availableStock} sản phẩm` : 'Hết hàng'}
                 </span>
               </div>
             </div>
 
-            {/* Quantity and Actions */}
+            {/* Variant, Quantity and Actions */}
             <div className="space-y-6">
+              {variants.length > 0 && (
+                <div>
+                  <span className="block text-secondary-700 font-medium mb-3">Phân loại:</span>
+                  <div className="flex flex-wrap gap-2">
+                    {variants.map((variant) => (
+                      <button
+                        key={variant.id}
+                        onClick={() => handleVariantChange(variant.id)}
+                        disabled={variant.stockQuantity === 0}
+                        className={`px-4 py-2 rounded-lg border text-sm font-medium transition-colors duration-200 disabled:opacity-50 disabled:cursor-not-allowed ${
+                          selectedVariant?.id === variant.id
+                            ? 'border-primary-600 bg-primary-50 text-primary-700'
+                            : 'border-secondary-300 text-secondary-700 hover:border-primary-400'
+                        }`}
+                      >
+                        {variant.size} / {variant.color}
+                      </button>
+                    ))}
+                  </div>
+                </div>
+              )}
+
               <div className="flex items-center space-x-4">
                 <span className="text-secondary-700 font-medium">Số lượng:</span>
                 <div className="flex items-center border border-secondary-300 rounded-lg">
@@ -247,7 +290,7 @@ const ProductDetailPage: React.FC = () => {
                   <span className="px-4 py-2 font-medium">{quantity}</span>
                   <button
                     onClick={() => handleQuantityChange(quantity + 1)}
-                    disabled={quantity >= product.stockQuantity}
+                    disabled={quantity >= availableStock}
                     className="p-2 hover:bg-secondary-50 disabled:opacity-50 disabled:cursor-not-allowed"
                   >
                     <Plus className="w-4 h-4" />
@@ -259,7 +302,7 @@ const ProductDetailPage: React.FC = () => {
                 <Button
                   size="lg"
                   onClick={handleAddToCart}
-                  disabled={product.stockQuantity === 0}
+                  disabled={availableStock === 0}
                   icon={<ShoppingCart className="w-5 h-5" />}
                   className="flex-1"
                 >
@@ -269,7 +312,7 @@ const ProductDetailPage: React.FC = () => {
                   variant="outline"
                   size="lg"
                   onClick={handleBuyNow}
-                  disabled={product.stockQuantity === 0}
+                  disabled={availableStock === 0}
                   className="flex-1"
                 >
                   Mua ngay
@@ -7,6 +7,8 @@ const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080
 
 class ApiClient {
   private client: AxiosInstance;
+  // Shared so that concurrent 401s trigger a single refresh call
+  private refreshPromise: Promise<string | null> | null = null;
 
   constructor() {
     this.client = axios.create({
@@ -41,7 +43,18 @@ class ApiClient {
         // Return the data property directly to simplify handling in services
         return response.data;
       },
-      (error) => {
+      async (error) => {
+        const originalRequest = error.config;
+        if (error.response?.status === 401 && originalRequest && !originalRequest._retry
+            && !originalRequest.url?.includes('/auth/')) {
+          originalRequest._retry = true;
+          const newToken = await this.refreshAccessToken();
+          if (newToken) {
+            originalRequest.headers.Authorization = `Bearer ${newToken}`;
+            return this.client(originalRequest);
+          }
+        }
+
         if (error.response) {
           const { status, data } = error.response;
           
@@ -49,6 +62,7 @@ class ApiClient {
             case 401:
               // Unauthorized - clear token and redirect to login
               localStorage.removeItem('auth_token');
+              localStorage.removeItem('refresh_token');
               localStorage.removeItem('user_data');
               window.location.href = '/login';
               toast.error('Session expired. Please login again.');
@@ -91,6 +105,30 @@ class ApiClient {
     );
   }
 
+  private refreshAccessToken(): Promise<string | null> {
+    const refreshToken = localStorage.getItem('refresh_token');
+    if (!refreshToken) {
+      return Promise.resolve(null);
+    }
+    if (!this.refreshPromise) {
+      // Plain axios call so the interceptors above don't recurse
+      this.refreshPromise = axios
+        .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+        .then((response) => {
+          localStorage.setItem('auth_token', response.data.token);
+          if (response.data.refreshToken) {
+            localStorage.setItem('refresh_token', response.data.refreshToken);
+          }
+          return response.data.token as string;
+        })
+        .catch(() => null)
+        .finally(() => {
+          this.refreshPromise = null;
+        });
+    }
+    return this.refreshPromise;
+  }
+
   // Generic HTTP methods
   get<T>(url: string, config?: AxiosRequestConfig): Promise<T> {
     return this.client.get<T>(url, config);
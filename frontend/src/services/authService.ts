@@ -20,17 +20,22 @@ export class AuthService {
   }
 
   async logout(): Promise<void> {
-    // Clear local storage
-    localStorage.removeItem('auth_token');
-    localStorage.removeItem('user_data');
-    
-    // Optional: Call backend logout endpoint if it exists
+    // Capture both tokens up front: callers clear local state without waiting for this request
+    const token = this.getAuthToken();
+    const refreshToken = this.getRefreshToken();
+
     try {
-      await apiClient.post('/auth/logout');
+      await apiClient.post('/auth/logout', refreshToken ? { refreshToken } : undefined,
+        token ? { headers: { Authorization: `Bearer ${token}` } } : undefined);
     } catch (error) {
       // Ignore errors on logout
       console.warn('Logout endpoint error:', error);
     }
+
+    // Clear local storage
+    localStorage.removeItem('auth_token');
+    localStorage.removeItem('refresh_token');
+    localStorage.removeItem('user_data');
   }
 
   // User profile endpoints
@@ -59,6 +64,20 @@ export class AuthService {
     localStorage.removeItem('auth_token');
   }
 
+  setRefreshToken(refreshToken?: string): void {
+    if (refreshToken) {
+      localStorage.setItem('refresh_token', refreshToken);
+    }
+  }
+
+  getRefreshToken(): string | null {
+    return localStorage.getItem('refresh_token');
+  }
+
+  removeRefreshToken(): void {
+    localStorage.removeItem('refresh_token');
+  }
+
   // User data management
   setUserData(userData: any): void {
     localStorage.setItem('user_data', JSON.stringify(userData));
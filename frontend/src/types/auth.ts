@@ -16,6 +16,11 @@ export interface AuthResponse {
   name: string;
   email: string;
   role: string;
+  refreshToken?: string;
+}
+
+export interface RefreshTokenRequest {
+  refreshToken: string;
 }
 
 export interface UserProfileResponse {
@@ -2,6 +2,11 @@ export interface CartItemResponse {
   id: number;
   productId: number;
   productName: string;
+  variantId: number;
+  size: string;
+  color: string;
+  availableStock: number;
+  available: boolean;
   productImage?: string;
   productPrice: number;
   productDiscountPrice?: number;
@@ -24,10 +24,13 @@ export interface BrandInfo {
 
 export interface ProductVariantResponse {
   id: number;
-  name: string;
-  value: string;
-  price?: number;
-  stockQuantity?: number;
+  productId: number;
+  productName?: string;
+  size: string;
+  color: string;
+  stockQuantity: number;
+  image?: string;
+  isActive: boolean;
 }
 
 export interface ProductResponse {
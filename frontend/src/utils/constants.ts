@@ -8,6 +8,7 @@ export const API_CONFIG = {
 // Local Storage Keys
 export const STORAGE_KEYS = {
   AUTH_TOKEN: 'auth_token',
+  REFRESH_TOKEN: 'refresh_token',
   USER_DATA: 'user_data',
   CART_DATA: 'cart_data',
   THEME: 'theme_preference',
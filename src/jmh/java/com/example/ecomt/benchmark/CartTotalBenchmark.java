@@ -0,0 +1,66 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.dto.CartResponse;
+import com.example.ecomt.entity.Cart;
+import com.example.ecomt.entity.CartItem;
+import com.example.ecomt.entity.User;
+import com.example.ecomt.repository.CartItemRepository;
+import com.example.ecomt.repository.CartRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import com.example.ecomt.service.CartService;
+import com.example.ecomt.service.PricingEngine;
+import com.example.ecomt.service.PromotionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cart item conversion, variant availability and total computation as done on every cart read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartTotalBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int items;
+
+    private CartService cartService;
+
+    @Setup
+    public void setUp() {
+        User user = CatalogFixtures.user();
+        Cart cart = CatalogFixtures.cart(user);
+
+        CartRepository cartRepository = mock(CartRepository.class);
+        CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+        when(cartRepository.findByUserId(user.getId())).thenReturn(Optional.of(cart));
+        List<CartItem> cartItems = CatalogFixtures.cartItems(cart, CatalogFixtures.products(items, 1));
+        when(cartItemRepository.findByCartId(cart.getId())).thenReturn(cartItems);
+        ProductVariantRepository productVariantRepository = mock(ProductVariantRepository.class);
+        when(productVariantRepository.findAllById(any()))
+                .thenReturn(cartItems.stream().map(CartItem::getVariant).toList());
+
+        cartService = new CartService(cartRepository, cartItemRepository, mock(ProductRepository.class),
+                productVariantRepository, new PricingEngine(BigDecimal.valueOf(30_000), BigDecimal.valueOf(500_000),
+                        mock(PromotionService.class)),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public CartResponse computeCart() {
+        return cartService.getCart(1L);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory catalog used by the benchmarks, so runs are comparable
+ * across machines and commits without a database.
+ */
+final class CatalogFixtures {
+
+    private static final String[] CATEGORY_NAMES = {"Áo thun", "Quần jean", "Giày", "Túi xách", "Phụ kiện", "Áo khoác"};
+    private static final String[] BRAND_NAMES = {"Nike", "Adidas", "Uniqlo", "Zara", "Puma", "H&M", "Levi's"};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+    private static final String[] COLORS = {"Đen", "Trắng", "Xanh"};
+
+    private CatalogFixtures() {
+    }
+
+    static List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName(CATEGORY_NAMES[i]);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    static List<Brand> brands() {
+        List<Brand> brands = new ArrayList<>();
+        for (int i = 0; i < BRAND_NAMES.length; i++) {
+            Brand brand = new Brand();
+            brand.setId((long) i + 1);
+            brand.setName(BRAND_NAMES[i]);
+            brands.add(brand);
+        }
+        return brands;
+    }
+
+    static List<Product> products(int count, int variantsPerProduct) {
+        List<Category> categories = categories();
+        List<Brand> brands = brands();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName(CATEGORY_NAMES[i % CATEGORY_NAMES.length] + " " + BRAND_NAMES[i % BRAND_NAMES.length] + " #" + i);
+            product.setPrice(BigDecimal.valueOf(100_000L + (i % 50) * 10_000L));
+            product.setDiscountPrice(i % 3 == 0 ? BigDecimal.valueOf(90_000L + (i % 50) * 9_000L) : null);
+            product.setDescription("Sản phẩm chất lượng cao, phù hợp đi làm và đi chơi. Mã " + i);
+            product.setImage("https://res.cloudinary.com/demo/image/upload/products/" + i + ".jpg");
+            product.setStockQuantity(100);
+            product.setIsActive(true);
+            product.setCategory(categories.get(i % categories.size()));
+            product.setBrand(brands.get(i % brands.size()));
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+
+            List<ProductVariant> variants = new ArrayList<>(variantsPerProduct);
+            for (int v = 0; v < variantsPerProduct; v++) {
+                ProductVariant variant = new ProductVariant();
+                variant.setId((long) i * variantsPerProduct + v + 1);
+                variant.setProduct(product);
+                variant.setSize(SIZES[v % SIZES.length]);
+                variant.setColor(COLORS[v % COLORS.length]);
+                variant.setStockQuantity(10);
+                variant.setIsActive(true);
+                variant.setCreatedAt(now);
+                variant.setUpdatedAt(now);
+                variants.add(variant);
+            }
+            product.setVariants(variants);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("bench@example.com");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+
+    static Cart cart(User user) {
+        Cart cart = new Cart();
+        cart.setId(1L);
+        cart.setUser(user);
+        return cart;
+    }
+
+    /**
+     * One line per product, on its first variant; the products need at least one variant.
+     */
+    static List<CartItem> cartItems(Cart cart, List<Product> products) {
+        List<CartItem> items = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            CartItem item = new CartItem();
+            item.setId((long) i + 1);
+            item.setCart(cart);
+            item.setProduct(products.get(i));
+            item.setVariant(products.get(i).getVariants().get(0));
+            item.setQuantity(1 + i % 4);
+            items.add(item);
+        }
+        return items;
+    }
+}
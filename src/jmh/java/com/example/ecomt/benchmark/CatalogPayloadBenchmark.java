@@ -0,0 +1,94 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.service.CatalogJsonCache;
+import com.example.ecomt.service.CatalogVersionService;
+import com.example.ecomt.service.OutboxService;
+import com.example.ecomt.service.ProductReadModelService;
+import com.example.ecomt.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CPU per product-list response and bytes on the wire: Jackson on every hit (the old
+ * path), Jackson plus gzip on every hit (plain server compression at Tomcat's default
+ * level), and the pre-serialized, pre-compressed bytes from CatalogJsonCache. The
+ * wireBytes counter divided by the op count is the response size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogPayloadBenchmark {
+
+    @Param({"100", "1000"})
+    private int products;
+
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+    private CatalogJsonCache cache;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+        public long wireBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = CatalogFixtures.products(products, 6);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findByIsActiveTrue()).thenReturn(catalog);
+
+        CatalogVersionService catalogVersionService = new CatalogVersionService();
+        productService = new ProductService(productRepository, mock(CategoryRepository.class),
+                mock(BrandRepository.class), mock(ProductReadModelService.class), mock(OutboxService.class));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cache = new CatalogJsonCache(objectMapper, catalogVersionService, true, 64, 1024);
+    }
+
+    @Benchmark
+    public byte[] serializeEveryHit(Wire wire) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(productService.getAllActiveProducts());
+        wire.wireBytes += json.length;
+        return json;
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipEveryHit(Wire wire) throws IOException {
+        List<ProductResponse> body = productService.getAllActiveProducts();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, body);
+        }
+        byte[] compressed = out.toByteArray();
+        wire.wireBytes += compressed.length;
+        return compressed;
+    }
+
+    @Benchmark
+    public byte[] cachedGzipBytes(Wire wire) {
+        byte[] compressed = cache.get("products", productService::getAllActiveProducts).getGzip();
+        wire.wireBytes += compressed.length;
+        return compressed;
+    }
+}
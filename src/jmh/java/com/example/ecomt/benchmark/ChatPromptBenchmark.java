@@ -0,0 +1,81 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.dto.ChatRequest;
+import com.example.ecomt.dto.ChatResponse;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.service.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chat relevance matching and prompt building over the catalog. Gemini, the answer
+ * cache and conversation memory are stubbed, so only the local work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatPromptBenchmark {
+
+    private static final String FOLLOW_UP_ID = "6f1c2a9e-4b7d-4e3a-9c15-2d8f0b6a7e41";
+
+    @Param({"100", "1000", "10000"})
+    private int products;
+
+    private ChatService chatService;
+    private ChatRequest openingQuestion;
+    private ChatRequest followUpQuestion;
+
+    @Setup
+    public void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findByIsActiveTrue()).thenReturn(CatalogFixtures.products(products, 0));
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findAll()).thenReturn(CatalogFixtures.categories());
+        BrandRepository brandRepository = mock(BrandRepository.class);
+        when(brandRepository.findAll()).thenReturn(CatalogFixtures.brands());
+
+        ProductService productService = new ProductService(productRepository, categoryRepository,
+                brandRepository, mock(ProductReadModelService.class), mock(OutboxService.class));
+
+        GeminiService geminiService = mock(GeminiService.class);
+        when(geminiService.generateResponse(anyString())).thenReturn("Bạn có thể tham khảo các mẫu giày Nike.");
+
+        ChatResponseCache chatResponseCache = mock(ChatResponseCache.class);
+        ConversationMemoryService conversationMemoryService = mock(ConversationMemoryService.class);
+        when(conversationMemoryService.find(FOLLOW_UP_ID)).thenReturn(new ConversationMemoryService.Conversation(
+                FOLLOW_UP_ID, "- Khách đã hỏi: giày chạy bộ",
+                List.of(new ConversationMemoryService.Turn("Có giày Nike không?", "Shop có nhiều mẫu giày Nike.")),
+                List.of(1L, 2L, 3L)));
+
+        chatService = new ChatService(geminiService, productService, categoryRepository, brandRepository,
+                chatResponseCache, conversationMemoryService);
+
+        openingQuestion = new ChatRequest();
+        openingQuestion.setMessage("Shop có giày Nike màu đen không?");
+
+        followUpQuestion = new ChatRequest();
+        followUpQuestion.setMessage("Còn túi xách Zara thì sao?");
+        followUpQuestion.setConversationId(FOLLOW_UP_ID);
+    }
+
+    @Benchmark
+    public ChatResponse openingQuestion() {
+        return chatService.processChat(openingQuestion);
+    }
+
+    @Benchmark
+    public ChatResponse followUpQuestion() {
+        return chatService.processChat(followUpQuestion);
+    }
+}
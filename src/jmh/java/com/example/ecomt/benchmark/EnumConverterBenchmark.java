@@ -0,0 +1,81 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.converter.OrderStatusConverter;
+import com.example.ecomt.converter.PaymentMethodConverter;
+import com.example.ecomt.converter.PaymentStatusConverter;
+import com.example.ecomt.converter.RoleConverter;
+import com.example.ecomt.entity.Order;
+import com.example.ecomt.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The enum AttributeConverters run for every enum column of every loaded row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumConverterBenchmark {
+
+    private final OrderStatusConverter orderStatusConverter = new OrderStatusConverter();
+    private final PaymentMethodConverter paymentMethodConverter = new PaymentMethodConverter();
+    private final PaymentStatusConverter paymentStatusConverter = new PaymentStatusConverter();
+    private final RoleConverter roleConverter = new RoleConverter();
+
+    private final Order.OrderStatus[] orderStatuses = Order.OrderStatus.values();
+    private final Order.PaymentStatus[] paymentStatuses = Order.PaymentStatus.values();
+    private final User.Role[] roles = User.Role.values();
+
+    private String[] orderStatusColumns;
+    private String[] paymentStatusColumns;
+    private String[] roleColumns;
+
+    @Setup
+    public void setUp() {
+        orderStatusColumns = new String[orderStatuses.length];
+        for (int i = 0; i < orderStatuses.length; i++) {
+            orderStatusColumns[i] = orderStatusConverter.convertToDatabaseColumn(orderStatuses[i]);
+        }
+        paymentStatusColumns = new String[paymentStatuses.length];
+        for (int i = 0; i < paymentStatuses.length; i++) {
+            paymentStatusColumns[i] = paymentStatusConverter.convertToDatabaseColumn(paymentStatuses[i]);
+        }
+        roleColumns = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            roleColumns[i] = roleConverter.convertToDatabaseColumn(roles[i]);
+        }
+    }
+
+    @Benchmark
+    public void toDatabaseColumn(Blackhole blackhole) {
+        for (Order.OrderStatus status : orderStatuses) {
+            blackhole.consume(orderStatusConverter.convertToDatabaseColumn(status));
+        }
+        for (Order.PaymentStatus status : paymentStatuses) {
+            blackhole.consume(paymentStatusConverter.convertToDatabaseColumn(status));
+        }
+        for (User.Role role : roles) {
+            blackhole.consume(roleConverter.convertToDatabaseColumn(role));
+        }
+        blackhole.consume(paymentMethodConverter.convertToDatabaseColumn(Order.PaymentMethod.COD));
+    }
+
+    @Benchmark
+    public void toEntityAttribute(Blackhole blackhole) {
+        for (String column : orderStatusColumns) {
+            blackhole.consume(orderStatusConverter.convertToEntityAttribute(column));
+        }
+        for (String column : paymentStatusColumns) {
+            blackhole.consume(paymentStatusConverter.convertToEntityAttribute(column));
+        }
+        for (String column : roleColumns) {
+            blackhole.consume(roleConverter.convertToEntityAttribute(column));
+        }
+        blackhole.consume(paymentMethodConverter.convertToEntityAttribute("COD"));
+    }
+}
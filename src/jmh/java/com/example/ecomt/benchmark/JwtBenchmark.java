@@ -0,0 +1,42 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login/refresh and signature verification on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecretKeyThatIsLongEnoughForHS256Signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 1_209_600_000L);
+        token = jwtUtil.generateTokenWithRole("bench@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtUtil.generateTokenWithRole("bench@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.extractAllClaims(token);
+    }
+}
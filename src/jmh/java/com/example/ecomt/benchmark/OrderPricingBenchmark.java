@@ -0,0 +1,106 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.dto.CreateOrderRequest;
+import com.example.ecomt.dto.OrderResponse;
+import com.example.ecomt.entity.*;
+import com.example.ecomt.repository.*;
+import com.example.ecomt.service.OrderService;
+import com.example.ecomt.service.OutboxService;
+import com.example.ecomt.service.PricingEngine;
+import com.example.ecomt.service.ProductReadModelService;
+import com.example.ecomt.service.PromotionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout price aggregation, stock decrements, order detail creation and response conversion with
+ * repositories stubbed out, i.e. the CPU part of placing an order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int items;
+
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() {
+        User user = CatalogFixtures.user();
+        Cart cart = CatalogFixtures.cart(user);
+        List<CartItem> cartItems = CatalogFixtures.cartItems(cart, CatalogFixtures.products(items, 1));
+
+        Order savedOrder = new Order();
+        savedOrder.setId(1L);
+        savedOrder.setUser(user);
+        List<OrderDetail> details = new ArrayList<>();
+        for (CartItem cartItem : cartItems) {
+            OrderDetail detail = new OrderDetail();
+            detail.setId(cartItem.getId());
+            detail.setOrder(savedOrder);
+            detail.setProduct(cartItem.getProduct());
+            detail.setQuantity(cartItem.getQuantity());
+            detail.setPrice(cartItem.getProduct().getPrice());
+            details.add(detail);
+        }
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        OrderDetailRepository orderDetailRepository = mock(OrderDetailRepository.class);
+        CartRepository cartRepository = mock(CartRepository.class);
+        CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(cartRepository.findByUserId(user.getId())).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findWithProductAndVariantByCartId(cart.getId())).thenReturn(cartItems);
+        when(cartItemRepository.deleteOrderedLine(anyLong(), anyInt())).thenReturn(1);
+        ProductVariantRepository productVariantRepository = mock(ProductVariantRepository.class);
+        when(productVariantRepository.decrementStock(anyLong(), anyInt(), any())).thenReturn(1);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(1L);
+            return order;
+        });
+        when(orderDetailRepository.save(any(OrderDetail.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderDetailRepository.findByOrderId(anyLong())).thenReturn(details);
+
+        PromotionService promotionService = mock(PromotionService.class);
+        PricingEngine pricingEngine = new PricingEngine(BigDecimal.valueOf(30_000), BigDecimal.valueOf(500_000),
+                promotionService);
+        orderService = new OrderService(orderRepository, orderDetailRepository, cartRepository,
+                cartItemRepository, userRepository, mock(ProductRepository.class), productVariantRepository,
+                mock(ProductReadModelService.class), pricingEngine, promotionService,
+                new SimpleMeterRegistry(), mock(OutboxService.class));
+
+        request = new CreateOrderRequest();
+        request.setShippingAddress("123 Main Street");
+        request.setShippingCity("Ho Chi Minh City");
+        request.setShippingDistrict("District 1");
+        request.setShippingWard("Ward 1");
+        request.setShippingPhone("0123456789");
+        request.setPaymentMethod(Order.PaymentMethod.COD);
+    }
+
+    @Benchmark
+    public OrderResponse placeOrder() {
+        return orderService.createOrderFromCart(1L, request);
+    }
+}
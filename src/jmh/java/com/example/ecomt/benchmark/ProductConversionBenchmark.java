@@ -0,0 +1,52 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.service.OutboxService;
+import com.example.ecomt.service.ProductReadModelService;
+import com.example.ecomt.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity to DTO conversion of the active catalog, which backs every product listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductConversionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int products;
+
+    @Param({"0", "6"})
+    private int variantsPerProduct;
+
+    private ProductService productService;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = CatalogFixtures.products(products, variantsPerProduct);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findByIsActiveTrue()).thenReturn(catalog);
+
+        productService = new ProductService(productRepository, mock(CategoryRepository.class),
+                mock(BrandRepository.class), mock(ProductReadModelService.class), mock(OutboxService.class));
+    }
+
+    @Benchmark
+    public List<ProductResponse> convertActiveCatalog() {
+        return productService.getAllActiveProducts();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.entity.CartItem;
+import com.example.ecomt.entity.Promotion;
+import com.example.ecomt.service.PricingEngine;
+import com.example.ecomt.service.PromotionIndex;
+import com.example.ecomt.service.PromotionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Evaluating a cart against thousands of active promotions, most of them scoped to categories
+ * and brands the cart does not contain, as done on every cart read and checkout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionEvaluationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int promotions;
+
+    @Param({"5", "50"})
+    private int items;
+
+    private PromotionIndex index;
+    private List<PricingEngine.PricedLine> lines;
+    private BigDecimal subtotal;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        List<Promotion> active = new ArrayList<>(promotions);
+        for (int i = 0; i < promotions; i++) {
+            Promotion promotion = new Promotion();
+            promotion.setId((long) i + 1);
+            promotion.setName("Promotion " + i);
+            boolean percentage = i % 2 == 0;
+            promotion.setDiscountType(percentage ? Promotion.DiscountType.PERCENTAGE : Promotion.DiscountType.FIXED);
+            promotion.setDiscountValue(BigDecimal.valueOf(percentage ? 5 + i % 30 : 10_000 + i % 50 * 1_000));
+            promotion.setMaxDiscount(BigDecimal.valueOf(200_000));
+            promotion.setMinSubtotal(BigDecimal.valueOf(i % 5 * 100_000));
+            promotion.setUsageLimit(i % 3 == 0 ? 1_000 : null);
+            promotion.setIsActive(true);
+            switch (i % 10) {
+                case 0 -> promotion.setCode("CODE" + i);
+                case 1 -> {
+                    // storewide
+                }
+                case 2, 3, 4 -> promotion.setBrandId((long) i % 200 + 1);
+                default -> {
+                    promotion.setCategoryId((long) i % 300 + 1);
+                    if (i % 2 == 0) {
+                        promotion.setBrandId((long) i % 200 + 1);
+                    }
+                }
+            }
+            active.add(promotion);
+        }
+        index = PromotionIndex.compile(active);
+
+        List<CartItem> cartItems = CatalogFixtures.cartItems(CatalogFixtures.cart(CatalogFixtures.user()),
+                CatalogFixtures.products(items, 1));
+        PricingEngine.Quote quote = new PricingEngine(BigDecimal.valueOf(30_000), BigDecimal.valueOf(500_000),
+                mock(PromotionService.class)).quote(cartItems);
+        lines = quote.getLines();
+        subtotal = quote.getSubtotal();
+        now = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public List<PromotionIndex.Match> evaluate() {
+        return index.evaluate(lines, subtotal, null, now);
+    }
+
+    @Benchmark
+    public List<PromotionIndex.Match> evaluateWithCoupon() {
+        return index.evaluate(lines, subtotal, "code10", now);
+    }
+}
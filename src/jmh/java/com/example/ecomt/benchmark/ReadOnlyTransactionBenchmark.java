@@ -0,0 +1,133 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.EcomTApplication;
+import com.example.ecomt.dto.OrderResponse;
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.entity.*;
+import com.example.ecomt.repository.*;
+import com.example.ecomt.service.OrderService;
+import com.example.ecomt.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Large list reads through the real JPA stack on embedded H2, once in the services'
+ * own read-only transactions and once joined into a read-write transaction, which is
+ * how every read ran before. The GC profiler's gc.alloc.rate.norm shows the
+ * per-call heap churn of entity snapshots and the flush-time dirty check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final int ORDER_LINES = 3;
+
+    @Param({"500", "5000"})
+    private int products;
+
+    @Param({"200"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private OrderService orderService;
+    private TransactionTemplate readWrite;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcomTApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:readonly-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .run();
+        productService = context.getBean(ProductService.class);
+        orderService = context.getBean(OrderService.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> activeProductsReadOnly() {
+        return productService.getAllActiveProducts();
+    }
+
+    @Benchmark
+    public List<ProductResponse> activeProductsReadWrite() {
+        return readWrite.execute(status -> productService.getAllActiveProducts());
+    }
+
+    @Benchmark
+    public List<OrderResponse> userOrdersReadOnly() {
+        return orderService.getUserOrders(userId);
+    }
+
+    @Benchmark
+    public List<OrderResponse> userOrdersReadWrite() {
+        return readWrite.execute(status -> orderService.getUserOrders(userId));
+    }
+
+    private void seed() {
+        List<Category> categories = CatalogFixtures.categories();
+        List<Brand> brands = CatalogFixtures.brands();
+        categories.forEach(category -> category.setId(null));
+        brands.forEach(brand -> brand.setId(null));
+        categories = context.getBean(CategoryRepository.class).saveAll(categories);
+        brands = context.getBean(BrandRepository.class).saveAll(brands);
+
+        List<Product> catalog = CatalogFixtures.products(products, 4);
+        for (int i = 0; i < catalog.size(); i++) {
+            Product product = catalog.get(i);
+            product.setId(null);
+            product.setCategory(categories.get(i % categories.size()));
+            product.setBrand(brands.get(i % brands.size()));
+            product.getVariants().forEach(variant -> variant.setId(null));
+        }
+        catalog = context.getBean(ProductRepository.class).saveAll(catalog);
+
+        User user = CatalogFixtures.user();
+        user.setId(null);
+        user.setPassword("not-used");
+        user = context.getBean(UserRepository.class).save(user);
+        userId = user.getId();
+
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        List<OrderDetail> details = new ArrayList<>(orders * ORDER_LINES);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setTotalPrice(BigDecimal.valueOf(300_000L));
+            order.setFinalTotal(BigDecimal.valueOf(300_000L));
+            order.setShippingAddress("1 Benchmark Street");
+            order.setShippingPhone("0900000000");
+            order = orderRepository.save(order);
+            for (int line = 0; line < ORDER_LINES; line++) {
+                OrderDetail detail = new OrderDetail();
+                detail.setOrder(order);
+                detail.setProduct(catalog.get((i * ORDER_LINES + line) % catalog.size()));
+                detail.setQuantity(1 + line);
+                detail.setPrice(BigDecimal.valueOf(100_000L));
+                details.add(detail);
+            }
+        }
+        context.getBean(OrderDetailRepository.class).saveAll(details);
+    }
+}
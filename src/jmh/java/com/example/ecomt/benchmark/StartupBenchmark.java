@@ -0,0 +1,49 @@
+package com.example.ecomt.benchmark;
+
+import com.example.ecomt.EcomTApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the full application against the configured database (DB_HOST etc.),
+ * comparing Hibernate's ddl-auto=update schema introspection with Flyway plus
+ * ddl-auto=validate. Every fork is a fresh JVM that boots exactly once.
+ * <p>
+ * Both arms change the schema, and the migrations are MySQL-only, so this cannot run on
+ * embedded H2. It is excluded from the default benchmark run and refuses to start unless
+ * DB_HOST names a database explicitly, which should be a disposable one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"update", "validate"})
+    private String schemaMode;
+
+    @Setup
+    public void requireExplicitDatabase() {
+        if (System.getenv("DB_HOST") == null) {
+            throw new IllegalStateException(
+                    "StartupBenchmark runs schema DDL; set DB_HOST to a disposable MySQL database");
+        }
+    }
+
+    @Benchmark
+    public void startAndStop() {
+        boolean flyway = "validate".equals(schemaMode);
+        new SpringApplicationBuilder(EcomTApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=-1",
+                        "spring.jpa.hibernate.ddl-auto=" + schemaMode,
+                        "spring.flyway.enabled=" + flyway)
+                .run()
+                .close();
+    }
+}
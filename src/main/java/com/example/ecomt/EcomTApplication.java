@@ -1,9 +1,12 @@
 package com.example.ecomt;
 
+import com.example.ecomt.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class EcomTApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,100 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.service.CatalogFreshnessService.Freshness;
+import com.example.ecomt.service.CatalogJsonCache;
+import com.example.ecomt.service.CatalogJsonCache.SerializedBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs and the Cache-Control policy for public catalog responses. The
+ * validator is checked before the body is built, so a revalidation that still matches
+ * costs a few aggregate queries instead of loading and serializing the catalog.
+ */
+@Component
+public class CatalogHttpCaching {
+
+    private final CacheControl cacheControl;
+    private final CatalogJsonCache catalogJsonCache;
+
+    public CatalogHttpCaching(CatalogJsonCache catalogJsonCache,
+            @Value("${http.cache.catalog.max-age:60s}") Duration maxAge,
+            @Value("${http.cache.catalog.s-maxage:300s}") Duration sharedMaxAge,
+            @Value("${http.cache.catalog.stale-while-revalidate:600s}") Duration staleWhileRevalidate) {
+        this.catalogJsonCache = catalogJsonCache;
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .sMaxAge(sharedMaxAge)
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .cachePublic();
+    }
+
+    /**
+     * Answer 304 when the client's validators still match, otherwise build the body.
+     * ETag and Last-Modified are written to the response by checkNotModified in both cases.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Freshness freshness, Supplier<T> body) {
+        if (request.checkNotModified(freshness.getEtag(), freshness.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+    }
+
+    /**
+     * Like {@link #respond} for hot payloads with a small, fixed set of keys: the body is
+     * served from {@link CatalogJsonCache} as pre-serialized bytes, already gzipped when
+     * the client accepts it. Tomcat leaves responses that carry a Content-Encoding alone,
+     * so the bytes are not compressed a second time. The ETag is weak, as the gzip and
+     * identity bodies are equivalent but not byte-for-byte equal.
+     */
+    public ResponseEntity<byte[]> respondSerialized(WebRequest request, Freshness freshness, String cacheKey,
+            Supplier<?> body) {
+        if (request.checkNotModified("W/" + freshness.getEtag(), freshness.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        // Keyed by the validator too: the catalog version only moves once the outbox relay
+        // has run, and a body cached before that must not be served under a newer ETag
+        SerializedBody serialized = catalogJsonCache.get(cacheKey + freshness.getEtag(), body);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (serialized.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.getGzip());
+        }
+        return response.body(serialized.getJson());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0{0,3}")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ecomt.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The faststart profile turns on global lazy initialization, so Swagger, Cloudinary,
+ * Gemini and the controllers behind them are only created on first use. Persistence,
+ * migrations, security and background schedulers stay eager so a broken pod still
+ * fails at startup instead of on its first request.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                FlywayMigrationInitializer.class, SecurityFilterChain.class, ScheduledExecutorService.class);
+    }
+}
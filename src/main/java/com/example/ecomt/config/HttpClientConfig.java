@@ -0,0 +1,42 @@
+package com.example.ecomt.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Outbound HTTP client for external APIs. Backed by the JDK HttpClient, which blocks
+ * without pinning when the caller is a virtual thread; in virtual-thread mode its
+ * internal work also runs on virtual threads.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public RestTemplate restTemplate() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(builder.build());
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -2,6 +2,10 @@ package com.example.ecomt.config;
 
 import com.example.ecomt.service.CustomUserDetailsService;
 import com.example.ecomt.util.JwtUtil;
+import com.example.ecomt.util.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +26,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenDenylist tokenDenylist;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -29,15 +35,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
+        // Only the authentication work is timed, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Parse and verify the signature once, then read everything from the claims
+                claims = jwtUtil.extractAllClaims(jwt);
+                if (tokenDenylist.isRevoked(claims.getId())) {
+                    claims = null;
+                    outcome = "revoked";
+                } else {
+                    username = claims.getSubject();
+                }
             } catch (Exception e) {
                 logger.error("JWT token extraction failed", e);
+                outcome = "invalid";
             }
         }
 
@@ -45,11 +62,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             try {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (jwtUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
                             null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "authenticated";
+                } else {
+                    outcome = "rejected";
                 }
             } catch (org.springframework.dao.InvalidDataAccessApiUsageException e) {
                 logger.error("Database role mapping error for user: " + username
@@ -59,14 +79,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.getWriter().write(
                         "{\"error\":\"Authentication failed due to invalid user role\",\"message\":\"Please contact administrator\"}");
                 response.setContentType("application/json");
+                stopTimer(sample, "error");
                 return;
             } catch (Exception e) {
                 logger.error("Authentication failed for user: " + username, e);
                 // Clear any partial authentication
                 SecurityContextHolder.clearContext();
+                outcome = "error";
             }
         }
 
+        stopTimer(sample, outcome);
         filterChain.doFilter(request, response);
     }
+
+    private void stopTimer(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("auth.jwt.filter")
+                .description("Time spent authenticating the bearer token of a request")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
 }
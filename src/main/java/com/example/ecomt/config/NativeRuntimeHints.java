@@ -0,0 +1,82 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.converter.DiscountTypeConverter;
+import com.example.ecomt.converter.OrderStatusConverter;
+import com.example.ecomt.converter.PaymentMethodConverter;
+import com.example.ecomt.converter.PaymentStatusConverter;
+import com.example.ecomt.converter.RoleConverter;
+import com.example.ecomt.dto.ProductRequest;
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.dto.ProductSummaryResponse;
+import com.example.ecomt.event.OrderPlaced;
+import com.example.ecomt.event.OrderStatusChanged;
+import com.example.ecomt.event.ProductChanged;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for a GraalVM native image, covering what Spring AOT
+ * cannot see on its own: libraries that load their implementation classes by name,
+ * and types only read through an explicit ObjectMapper call. Lombok needs nothing
+ * here since it only runs at compile time.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api finds its implementation in jjwt-impl/jjwt-jackson by class name and ServiceLoader
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    // Cloudinary picks its HTTP strategy by probing class names
+    private static final List<String> CLOUDINARY_TYPES = List.of(
+            "com.cloudinary.http44.UploaderStrategy",
+            "com.cloudinary.http44.ApiStrategy");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        for (String type : CLOUDINARY_TYPES) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        // Apache HttpClient 4.4 reads its version for the User-Agent and the public suffix list for cookies
+        hints.resources()
+                .registerPattern("org/apache/http/version.properties")
+                .registerPattern("org/apache/http/client/version.properties")
+                .registerPattern("mozilla/public-suffix-list.txt");
+
+        // Swagger UI static assets served by springdoc
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+
+        for (Class<?> converter : List.of(OrderStatusConverter.class, PaymentMethodConverter.class,
+                PaymentStatusConverter.class, RoleConverter.class, DiscountTypeConverter.class)) {
+            hints.reflection().registerType(converter, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        // Parsed from a multipart part by AdminProductController, and serialized to bytes by
+        // CatalogJsonCache behind a byte[] return type; Spring MVC infers neither. The summary
+        // is also instantiated by Hibernate from a JPQL constructor expression
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ProductRequest.class, ProductResponse.class, ProductSummaryResponse.class);
+
+        // Outbox payloads are read back by type name in OutboxService
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ProductChanged.class, OrderPlaced.class, OrderStatusChanged.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.service.OutboxRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the outbox relay on its own thread. Disabled with outbox.relay.enabled=false, e.g.
+ * on instances that should only write events.
+ */
+@Configuration
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService outboxRelayScheduler(OutboxRelay outboxRelay,
+            @Value("${outbox.relay.interval-ms:500}") long intervalMs) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(outboxRelay::relayPending, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(outboxRelay::purgePublished, 1, 60, TimeUnit.MINUTES);
+        return scheduler;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ecomt.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Pins account and admin requests to the primary so users always read back their own
+ * carts, orders and edits, and clears the per-thread pin after every request.
+ */
+public class PrimaryPinningFilter extends OncePerRequestFilter {
+
+    private final List<String> pinnedPathPrefixes;
+
+    public PrimaryPinningFilter(List<String> pinnedPathPrefixes) {
+        this.pinnedPathPrefixes = pinnedPathPrefixes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        for (String prefix : pinnedPathPrefixes) {
+            if (uri.startsWith(prefix)) {
+                ReadWriteRoutingDataSource.pinToPrimary();
+                break;
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearPin();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.service.PromotionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks up promotion changes made through other instances: a cheap COUNT/MAX(updated_at)
+ * check, recompiling the index only when it moved.
+ */
+@Configuration
+public class PromotionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService promotionRefreshScheduler(PromotionService promotionService,
+            @Value("${promotions.refresh-interval-ms:30000}") long intervalMs) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "promotion-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(promotionService::refreshIfChanged, intervalMs, intervalMs,
+                TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+}
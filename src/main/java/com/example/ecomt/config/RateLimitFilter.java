@@ -0,0 +1,191 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.util.TokenBucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket admission control for the expensive public routes. Buckets are keyed
+ * by authenticated user when available and by client IP otherwise; throttled requests
+ * get 429 with a Retry-After header.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-minute:10}")
+    private long authRefillPerMinute;
+
+    @Value("${rate-limit.chat.capacity:20}")
+    private long chatCapacity;
+
+    @Value("${rate-limit.chat.refill-per-minute:20}")
+    private long chatRefillPerMinute;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private List<Policy> policies;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger requestsSinceSweep = new AtomicInteger();
+
+    @PostConstruct
+    void initPolicies() {
+        policies = List.of(
+                new Policy("auth", "/api/auth/", authCapacity, authRefillPerMinute),
+                new Policy("chat", "/api/chat/", chatCapacity, chatRefillPerMinute));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || findPolicy(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Policy policy = findPolicy(request.getRequestURI());
+        long now = System.nanoTime();
+        String key = policy.name + ":" + clientKey(request);
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                k -> new TokenBucket(policy.capacity, policy.refillPerMinute, now));
+
+        long waitNanos = bucket.tryConsume(now);
+        sweepIfDue(now);
+
+        if (waitNanos > 0) {
+            policy.throttled.incrementAndGet();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.debug("Rate limit exceeded for {} on {}", key, request.getRequestURI());
+
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(
+                    "{\"success\":false,\"message\":\"Too many requests, please retry after " + retryAfterSeconds + " seconds\"}");
+            return;
+        }
+
+        policy.allowed.incrementAndGet();
+        filterChain.doFilter(request, response);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Policy policy : policies) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("allowed", policy.allowed.get());
+            counts.put("throttled", policy.throttled.get());
+            stats.put(policy.name, counts);
+        }
+        stats.put("activeBuckets", buckets.size());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Policy policy : policies) {
+            FunctionCounter.builder("rate_limit.requests", policy.allowed, AtomicLong::get)
+                    .tag("policy", policy.name).tag("result", "allowed").register(registry);
+            FunctionCounter.builder("rate_limit.requests", policy.throttled, AtomicLong::get)
+                    .tag("policy", policy.name).tag("result", "throttled").register(registry);
+        }
+        Gauge.builder("rate_limit.buckets", buckets, Map::size)
+                .description("Active token buckets")
+                .register(registry);
+    }
+
+    private Policy findPolicy(String uri) {
+        for (Policy policy : policies) {
+            if (uri.startsWith(policy.pathPrefix)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma > 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void sweepIfDue(long now) {
+        int requests = requestsSinceSweep.incrementAndGet();
+        // Sweep more often once the bucket map grows past its cap
+        int interval = buckets.size() > maxBuckets ? SWEEP_INTERVAL / 16 : SWEEP_INTERVAL;
+        if (requests < interval) {
+            return;
+        }
+        requestsSinceSweep.set(0);
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class Policy {
+        private final String name;
+        private final String pathPrefix;
+        private final long capacity;
+        private final long refillPerMinute;
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+
+        private Policy(String name, String pathPrefix, long capacity, long refillPerMinute) {
+            this.name = name;
+            this.pathPrefix = pathPrefix;
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ecomt.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy read replica and everything else to the
+ * primary. Replicas are probed periodically; one that fails the probe or lags more
+ * than the configured tolerance is skipped until it recovers. Must be wrapped in a
+ * LazyConnectionDataSourceProxy so the read-only flag is known when the connection
+ * is actually fetched.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+            String lagQuery, long maxLagSeconds) {
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Route the rest of the current request to the primary, e.g. after a write whose
+     * result the client is about to read back.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                // Read-your-writes: later reads in this request must not hit a lagging replica
+                pinToPrimary();
+            }
+            return PRIMARY;
+        }
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Probe every replica once; called on a fixed schedule.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(2) && withinLagTolerance(connection, replica);
+            } catch (Exception e) {
+                log.debug("Replica {} probe failed: {}", replica.name, e.getMessage());
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.name, healthy ? "healthy" : "out of rotation");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public Map<String, Object> getReplicaStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("healthy", replica.healthy);
+            entry.put("lagSeconds", replica.lagSeconds);
+            status.put(replica.name, entry);
+        }
+        return status;
+    }
+
+    private boolean withinLagTolerance(Connection connection, Replica replica) throws Exception {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return true;
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            long lag = -1;
+            if (resultSet.next()) {
+                long value = resultSet.getLong(1);
+                // NULL means replication is not running, which is never acceptable
+                if (!resultSet.wasNull()) {
+                    lag = value;
+                }
+            }
+            replica.lagSeconds = lag;
+        }
+        return replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ecomt.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary plus read-replica data sources behind a read/write router. Enabled with
+ * app.datasource.routing.enabled=true; otherwise Boot's single data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceConfig.RoutingProperties.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        // A HikariDataSource bean, so Boot still binds its pool metrics
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties primaryProperties, RoutingProperties routing,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            ReplicaProperties replica = routing.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            dataSource.setReadOnly(true);
+            // Start lazily so a replica that is down at boot does not fail startup
+            dataSource.setInitializationFailTimeout(-1);
+            // Replica pools are not beans, so register their metrics here
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                routing.getLagQuery(), routing.getMaxReplicaLagSeconds());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService replicaHealthChecker(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+            RoutingProperties routing) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(readWriteRoutingDataSource::checkReplicas,
+                0, routing.getHealthCheckIntervalMs(), TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimaryPinningFilter> primaryPinningFilter(RoutingProperties routing) {
+        FilterRegistrationBean<PrimaryPinningFilter> registration =
+                new FilterRegistrationBean<>(new PrimaryPinningFilter(routing.getPinnedPaths()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Data
+    @ConfigurationProperties("app.datasource.routing")
+    public static class RoutingProperties {
+        private boolean enabled;
+        private List<ReplicaProperties> replicas = new ArrayList<>();
+        private long healthCheckIntervalMs = 5000;
+        private long maxReplicaLagSeconds = 5;
+        // Must return the replica lag in seconds as a single value; blank disables the lag check
+        private String lagQuery = "";
+        private List<String> pinnedPaths = new ArrayList<>(List.of("/api/user/", "/api/admin/"));
+    }
+
+    @Data
+    public static class ReplicaProperties {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ecomt.controller;
+
+import com.example.ecomt.dto.ApiResponse;
+import com.example.ecomt.dto.PromotionRequest;
+import com.example.ecomt.entity.Promotion;
+import com.example.ecomt.service.PromotionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/promotions")
+@RequiredArgsConstructor
+@Tag(name = "Admin - Promotion Management", description = "Promotion and coupon management APIs for Admin")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminPromotionController {
+    
+    private final PromotionService promotionService;
+    
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get all promotions", description = "Get list of all promotions with their usage counts (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Promotions retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<List<Promotion>> getAllPromotions() {
+        List<Promotion> promotions = promotionService.getAllPromotions();
+        return ResponseEntity.ok(promotions);
+    }
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get promotion by ID", description = "Get promotion details by ID (Admin only)")
+    public ResponseEntity<Promotion> getPromotionById(@PathVariable Long id) {
+        Promotion promotion = promotionService.getPromotionById(id);
+        return ResponseEntity.ok(promotion);
+    }
+    
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create new promotion", description = "Create an automatic promotion or a coupon code (Admin only)")
+    public ResponseEntity<Promotion> createPromotion(@Valid @RequestBody PromotionRequest request) {
+        Promotion promotion = promotionService.createPromotion(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(promotion);
+    }
+    
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update promotion", description = "Update promotion by ID; its usage count is kept (Admin only)")
+    public ResponseEntity<Promotion> updatePromotion(@PathVariable Long id, @Valid @RequestBody PromotionRequest request) {
+        Promotion promotion = promotionService.updatePromotion(id, request);
+        return ResponseEntity.ok(promotion);
+    }
+    
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete promotion", description = "Delete promotion by ID; orders that used it keep their discount (Admin only)")
+    public ResponseEntity<ApiResponse> deletePromotion(@PathVariable Long id) {
+        promotionService.deletePromotion(id);
+        return ResponseEntity.ok(ApiResponse.success("Promotion deleted successfully"));
+    }
+}
@@ -51,6 +51,35 @@ public class AuthController {
         }
     }
     
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new access token and a rotated refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token refreshed"),
+        @ApiResponse(responseCode = "400", description = "Invalid, expired or reused refresh token")
+    })
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Token refresh failed: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the given refresh token and the current access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Logged out")
+    })
+    public ResponseEntity<com.example.ecomt.dto.ApiResponse> logout(
+            @RequestBody(required = false) RefreshTokenRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        String refreshToken = request != null ? request.getRefreshToken() : null;
+        String accessToken = authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                ? authorizationHeader.substring(7) : null;
+        return ResponseEntity.ok(authService.logout(refreshToken, accessToken));
+    }
+    
     @PostMapping("/change-password")
     @Operation(summary = "Change password", description = "Change user password (requires authentication)")
     @SecurityRequirement(name = "bearerAuth")
@@ -2,6 +2,7 @@ package com.example.ecomt.controller;
 
 import com.example.ecomt.dto.ChatRequest;
 import com.example.ecomt.dto.ChatResponse;
+import com.example.ecomt.service.ChatResponseCache;
 import com.example.ecomt.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/chat")
 @RequiredArgsConstructor
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatResponseCache chatResponseCache;
 
     @PostMapping("/message")
     @Operation(summary = "Send message to AI chat", description = "Send a message to the AI assistant and get a response with product suggestions")
@@ -30,4 +34,10 @@ public class ChatController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Chat service is running");
     }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get chat cache statistics", description = "Get size, hit and miss counts and hit rate of the chat response cache")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(chatResponseCache.stats());
+    }
 }
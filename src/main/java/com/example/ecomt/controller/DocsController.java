@@ -1,7 +1,9 @@
 package com.example.ecomt.controller;
 
+import com.example.ecomt.config.RateLimitFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,9 +18,12 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/system")
 @Tag(name = "System", description = "System information APIs")
+@RequiredArgsConstructor
 @Slf4j
 public class DocsController {
 
+    private final RateLimitFilter rateLimitFilter;
+
     @GetMapping("/info")
     @Operation(summary = "Get system info", description = "Get basic system information")
     public ResponseEntity<Map<String, String>> getSystemInfo() {
@@ -46,4 +51,10 @@ public class DocsController {
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/rate-limit")
+    @Operation(summary = "Get rate limit stats", description = "Get allowed and throttled request counts per rate limit policy")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimitFilter.getStats());
+    }
 }
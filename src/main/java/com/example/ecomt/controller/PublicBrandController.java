@@ -1,13 +1,16 @@
 package com.example.ecomt.controller;
 
+import com.example.ecomt.config.CatalogHttpCaching;
 import com.example.ecomt.entity.Brand;
 import com.example.ecomt.service.BrandService;
+import com.example.ecomt.service.CatalogFreshnessService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,21 +21,23 @@ import java.util.List;
 public class PublicBrandController {
     
     private final BrandService brandService;
+    private final CatalogFreshnessService catalogFreshnessService;
+    private final CatalogHttpCaching catalogHttpCaching;
     
     @GetMapping
     @Operation(summary = "Get all brands", description = "Get list of all brands (Public access)")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Brands retrieved successfully")
     })
-    public ResponseEntity<List<Brand>> getAllBrands() {
-        List<Brand> brands = brandService.getAllBrands();
-        return ResponseEntity.ok(brands);
+    public ResponseEntity<List<Brand>> getAllBrands(WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.brands(),
+                brandService::getAllBrands);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get brand by ID", description = "Get brand details by ID (Public access)")
-    public ResponseEntity<Brand> getBrandById(@PathVariable Long id) {
-        Brand brand = brandService.getBrandById(id);
-        return ResponseEntity.ok(brand);
+    public ResponseEntity<Brand> getBrandById(@PathVariable Long id, WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.brand(id),
+                () -> brandService.getBrandById(id));
     }
 }
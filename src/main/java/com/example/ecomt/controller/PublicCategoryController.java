@@ -1,6 +1,8 @@
 package com.example.ecomt.controller;
 
+import com.example.ecomt.config.CatalogHttpCaching;
 import com.example.ecomt.entity.Category;
+import com.example.ecomt.service.CatalogFreshnessService;
 import com.example.ecomt.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,21 +21,23 @@ import java.util.List;
 public class PublicCategoryController {
     
     private final CategoryService categoryService;
+    private final CatalogFreshnessService catalogFreshnessService;
+    private final CatalogHttpCaching catalogHttpCaching;
     
     @GetMapping
     @Operation(summary = "Get all categories", description = "Get list of all categories (Public access)")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Categories retrieved successfully")
     })
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.categories(),
+                categoryService::getAllCategories);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Get category details by ID (Public access)")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        Category category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<Category> getCategoryById(@PathVariable Long id, WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.category(id),
+                () -> categoryService.getCategoryById(id));
     }
 }
@@ -1,17 +1,29 @@
 package com.example.ecomt.controller;
 
+import com.example.ecomt.config.CatalogHttpCaching;
+import com.example.ecomt.dto.ProductBatchRequest;
+import com.example.ecomt.dto.ProductBatchResponse;
 import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.dto.ProductSummaryResponse;
+import com.example.ecomt.service.CatalogFreshnessService;
+import com.example.ecomt.service.ProductReadModelService;
 import com.example.ecomt.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -20,57 +32,127 @@ import java.util.List;
 public class PublicProductController {
     
     private final ProductService productService;
+    private final ProductReadModelService productReadModelService;
+    private final CatalogFreshnessService catalogFreshnessService;
+    private final CatalogHttpCaching catalogHttpCaching;
+    
+    private static final String FIELDS_DESCRIPTION = "Comma separated summary fields (id, name, price, discountPrice, "
+            + "image). When set, slim list items are returned instead of full products";
     
     @GetMapping
     @Operation(summary = "Get all active products", description = "Get list of all active products (Public access)")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                content = @Content(mediaType = "application/json",
+                        array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class))))
     })
-    public ResponseEntity<List<ProductResponse>> getAllActiveProducts() {
-        List<ProductResponse> products = productService.getAllActiveProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllActiveProducts(
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields != null) {
+            Set<String> selected = ProductSummaryResponse.parseFields(fields);
+            return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                    "products:summary:" + selected, () -> productService.getActiveProductSummaries(selected));
+        }
+        return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                "products", productReadModelService::getActiveProducts);
+    }
+    
+    @GetMapping("/batch")
+    @Operation(summary = "Get active products by IDs",
+            description = "Get up to " + ProductReadModelService.MAX_BATCH_IDS + " active products in one request, in the "
+                    + "order requested; IDs that are missing or inactive are listed in missingIds (Public access)")
+    public ResponseEntity<ProductBatchResponse> getActiveProductsByIds(
+            @Parameter(description = "Comma separated product IDs", example = "3,1,2") @RequestParam List<Long> ids,
+            WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.products(),
+                () -> productReadModelService.getActiveProductsByIds(ids));
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Get active products by IDs (long lists)",
+            description = "Same as GET /api/products/batch with the IDs in the body, for lists too long for a URL (Public access)")
+    public ResponseEntity<ProductBatchResponse> postActiveProductsByIds(@Valid @RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(productReadModelService.getActiveProductsByIds(request.getIds()));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get active product by ID", description = "Get active product details by ID (Public access)")
-    public ResponseEntity<ProductResponse> getActiveProductById(@PathVariable Long id) {
-        ProductResponse product = productService.getActiveProductById(id);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductResponse> getActiveProductById(@PathVariable Long id, WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.product(id),
+                () -> productReadModelService.getActiveProduct(id));
     }
     
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category", description = "Get active products by category ID (Public access)")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable Long categoryId) {
-        List<ProductResponse> products = productService.getProductsByCategory(categoryId);
-        return ResponseEntity.ok(products);
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class))))
+    public ResponseEntity<byte[]> getProductsByCategory(@PathVariable Long categoryId,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields != null) {
+            Set<String> selected = ProductSummaryResponse.parseFields(fields);
+            return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                    "products:category:" + categoryId + ":summary:" + selected,
+                    () -> productService.getProductSummariesByCategory(categoryId, selected));
+        }
+        return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                "products:category:" + categoryId,
+                () -> productReadModelService.getActiveProductsByCategory(categoryId));
     }
     
     @GetMapping("/brand/{brandId}")
     @Operation(summary = "Get products by brand", description = "Get active products by brand ID (Public access)")
-    public ResponseEntity<List<ProductResponse>> getProductsByBrand(@PathVariable Long brandId) {
-        List<ProductResponse> products = productService.getProductsByBrand(brandId);
-        return ResponseEntity.ok(products);
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class))))
+    public ResponseEntity<byte[]> getProductsByBrand(@PathVariable Long brandId,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields != null) {
+            Set<String> selected = ProductSummaryResponse.parseFields(fields);
+            return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                    "products:brand:" + brandId + ":summary:" + selected,
+                    () -> productService.getProductSummariesByBrand(brandId, selected));
+        }
+        return catalogHttpCaching.respondSerialized(request, catalogFreshnessService.products(),
+                "products:brand:" + brandId,
+                () -> productReadModelService.getActiveProductsByBrand(brandId));
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search products", description = "Search active products by name (Public access)")
-    public ResponseEntity<List<ProductResponse>> searchProducts(
-            @Parameter(description = "Product name to search") @RequestParam String name) {
-        List<ProductResponse> products = productService.searchProducts(name);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<?>> searchProducts(
+            @Parameter(description = "Product name to search") @RequestParam String name,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields != null) {
+            Set<String> selected = ProductSummaryResponse.parseFields(fields);
+            return catalogHttpCaching.respond(request, catalogFreshnessService.products(),
+                    () -> productService.getProductSummariesWithFilters(null, null, null, null, name, selected));
+        }
+        return catalogHttpCaching.respond(request, catalogFreshnessService.products(),
+                () -> productService.searchProducts(name));
     }
     
     @GetMapping("/filter")
     @Operation(summary = "Filter products", description = "Filter active products with various criteria (Public access)")
-    public ResponseEntity<List<ProductResponse>> filterProducts(
+    public ResponseEntity<List<?>> filterProducts(
             @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Brand ID") @RequestParam(required = false) Long brandId,
             @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
             @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
-            @Parameter(description = "Product name") @RequestParam(required = false) String name) {
-        
-        List<ProductResponse> products = productService.getProductsWithFilters(
-                categoryId, brandId, minPrice, maxPrice, name);
-        return ResponseEntity.ok(products);
+            @Parameter(description = "Product name") @RequestParam(required = false) String name,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields != null) {
+            Set<String> selected = ProductSummaryResponse.parseFields(fields);
+            return catalogHttpCaching.respond(request, catalogFreshnessService.products(),
+                    () -> productService.getProductSummariesWithFilters(categoryId, brandId, minPrice, maxPrice,
+                            name, selected));
+        }
+        return catalogHttpCaching.respond(request, catalogFreshnessService.products(),
+                () -> productService.getProductsWithFilters(categoryId, brandId, minPrice, maxPrice, name));
     }
 }
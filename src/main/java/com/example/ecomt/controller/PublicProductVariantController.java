@@ -1,6 +1,8 @@
 package com.example.ecomt.controller;
 
+import com.example.ecomt.config.CatalogHttpCaching;
 import com.example.ecomt.dto.ProductVariantResponse;
+import com.example.ecomt.service.CatalogFreshnessService;
 import com.example.ecomt.service.ProductVariantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,21 +21,24 @@ import java.util.List;
 public class PublicProductVariantController {
     
     private final ProductVariantService variantService;
+    private final CatalogFreshnessService catalogFreshnessService;
+    private final CatalogHttpCaching catalogHttpCaching;
     
     @GetMapping
     @Operation(summary = "Get all active product variants", description = "Get list of all active product variants (Public access)")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product variants retrieved successfully")
     })
-    public ResponseEntity<List<ProductVariantResponse>> getAllActiveVariants() {
-        List<ProductVariantResponse> variants = variantService.getAllActiveVariants();
-        return ResponseEntity.ok(variants);
+    public ResponseEntity<List<ProductVariantResponse>> getAllActiveVariants(WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.variants(),
+                variantService::getAllActiveVariants);
     }
     
     @GetMapping("/product/{productId}")
     @Operation(summary = "Get active variants by product ID", description = "Get active variants for a specific product (Public access)")
-    public ResponseEntity<List<ProductVariantResponse>> getActiveVariantsByProduct(@PathVariable Long productId) {
-        List<ProductVariantResponse> variants = variantService.getActiveVariantsByProduct(productId);
-        return ResponseEntity.ok(variants);
+    public ResponseEntity<List<ProductVariantResponse>> getActiveVariantsByProduct(@PathVariable Long productId,
+            WebRequest request) {
+        return catalogHttpCaching.respond(request, catalogFreshnessService.variantsOfProduct(productId),
+                () -> variantService.getActiveVariantsByProduct(productId));
     }
 }
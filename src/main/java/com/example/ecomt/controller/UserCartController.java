@@ -24,15 +24,18 @@ public class UserCartController {
     private final UserService userService;
     
     @GetMapping
-    @Operation(summary = "Get user cart", description = "Get current user's cart with all items")
+    @Operation(summary = "Get user cart", description = "Get current user's cart with all items and the discount checkout would apply, optionally with a coupon code. Users who have not added anything yet get an empty cart without an ID")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cart retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Coupon code is invalid or does not apply"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<CartResponse> getCart(Authentication authentication) {
+    public ResponseEntity<CartResponse> getCart(
+            Authentication authentication,
+            @RequestParam(required = false) String couponCode) {
         String email = authentication.getName();
         Long userId = userService.getUserByEmail(email).getId();
-        CartResponse cart = cartService.getOrCreateCart(userId);
+        CartResponse cart = cartService.getCart(userId, couponCode);
         return ResponseEntity.ok(cart);
     }
     
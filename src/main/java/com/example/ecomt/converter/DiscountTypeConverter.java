@@ -0,0 +1,29 @@
+package com.example.ecomt.converter;
+
+import com.example.ecomt.entity.Promotion;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class DiscountTypeConverter implements AttributeConverter<Promotion.DiscountType, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Promotion.DiscountType attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return attribute.name().toLowerCase();
+    }
+
+    @Override
+    public Promotion.DiscountType convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return Promotion.DiscountType.valueOf(dbData.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value for DiscountType: " + dbData);
+        }
+    }
+}
@@ -13,6 +13,9 @@ public class AddToCartRequest {
     @Schema(description = "Product ID", example = "1")
     private Long productId;
     
+    @Schema(description = "Product variant ID (size and color). May be omitted for products with a single active variant", example = "3")
+    private Long variantId;
+    
     @NotNull(message = "Quantity is required")
     @Min(value = 1, message = "Quantity must be at least 1")
     @Schema(description = "Quantity", example = "2")
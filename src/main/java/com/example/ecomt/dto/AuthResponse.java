@@ -29,6 +29,9 @@ public class AuthResponse {
     @Schema(description = "User role", example = "USER")
     private String role;
     
+    @Schema(description = "Opaque refresh token, rotated on every use", example = "q3J0c2V4YW1wbGVyZWZyZXNodG9rZW4")
+    private String refreshToken;
+    
     public AuthResponse(String token, Long id, String name, String email, String role) {
         this.token = token;
         this.id = id;
@@ -23,6 +23,21 @@ public class CartItemResponse {
     @Schema(description = "Product name", example = "Nike Air Max 90")
     private String productName;
     
+    @Schema(description = "Product variant ID", example = "3")
+    private Long variantId;
+    
+    @Schema(description = "Variant size", example = "M")
+    private String size;
+    
+    @Schema(description = "Variant color", example = "Đen")
+    private String color;
+    
+    @Schema(description = "Units of the variant currently in stock", example = "12")
+    private Integer availableStock;
+    
+    @Schema(description = "Whether the variant is active and has stock for the quantity", example = "true")
+    private Boolean available;
+    
     @Schema(description = "Product price", example = "99.99")
     private BigDecimal productPrice;
     
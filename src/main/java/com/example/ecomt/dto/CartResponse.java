@@ -27,9 +27,21 @@ public class CartResponse {
     @Schema(description = "Total items count", example = "5")
     private Integer totalItems;
     
-    @Schema(description = "Total price", example = "299.99")
+    @Schema(description = "Total price of the items", example = "299.99")
     private BigDecimal totalPrice;
     
+    @Schema(description = "Shipping fee checkout will charge", example = "30000")
+    private BigDecimal shippingFee;
+    
+    @Schema(description = "Discount checkout will apply", example = "0")
+    private BigDecimal discountAmount;
+    
+    @Schema(description = "ID of the promotion the discount comes from", example = "1")
+    private Long promotionId;
+    
+    @Schema(description = "Total checkout will charge: items plus shipping minus discount", example = "329.99")
+    private BigDecimal finalTotal;
+    
     @Schema(description = "Created date", example = "2024-01-01T10:00:00")
     private LocalDateTime createdAt;
     
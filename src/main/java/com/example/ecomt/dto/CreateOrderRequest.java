@@ -5,12 +5,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 @Data
-@Schema(description = "Create order request")
+@Schema(description = "Create order request. Shipping fee and discount are computed by the server")
 public class CreateOrderRequest {
     
     @NotBlank(message = "Shipping address is required")
@@ -34,9 +33,6 @@ public class CreateOrderRequest {
     @Schema(description = "Shipping phone", example = "0123456789")
     private String shippingPhone;
     
-    @Schema(description = "Shipping fee", example = "30000")
-    private BigDecimal shippingFee = BigDecimal.ZERO;
-    
     @NotNull(message = "Payment method is required")
     @Schema(description = "Payment method", example = "COD")
     private Order.PaymentMethod paymentMethod;
@@ -44,6 +40,7 @@ public class CreateOrderRequest {
     @Schema(description = "Order notes", example = "Please deliver in the morning")
     private String notes;
     
-    @Schema(description = "Discount amount", example = "10000")
-    private BigDecimal discountAmount = BigDecimal.ZERO;
+    @Size(max = 50, message = "Coupon code must be at most 50 characters")
+    @Schema(description = "Coupon code, case-insensitive. The order gets the larger of its discount and any automatic promotion", example = "SALE10")
+    private String couponCode;
 }
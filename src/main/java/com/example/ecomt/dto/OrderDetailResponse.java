@@ -23,6 +23,15 @@ public class OrderDetailResponse {
     @Schema(description = "Product name", example = "Nike Air Max 90")
     private String productName;
     
+    @Schema(description = "Product variant ID; empty for orders placed before variants or after the variant was deleted", example = "3")
+    private Long variantId;
+    
+    @Schema(description = "Variant size at time of order", example = "M")
+    private String size;
+    
+    @Schema(description = "Variant color at time of order", example = "Đen")
+    private String color;
+    
     @Schema(description = "Product image", example = "https://example.com/image.jpg")
     private String productImage;
     
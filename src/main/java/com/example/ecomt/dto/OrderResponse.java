@@ -67,6 +67,9 @@ public class OrderResponse {
     @Schema(description = "Discount amount", example = "10000")
     private BigDecimal discountAmount;
     
+    @Schema(description = "ID of the promotion the discount came from", example = "1")
+    private Long promotionId;
+    
     @Schema(description = "Final total", example = "319999")
     private BigDecimal finalTotal;
     
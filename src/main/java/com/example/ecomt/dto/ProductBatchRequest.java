@@ -0,0 +1,19 @@
+package com.example.ecomt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Batch product lookup request")
+public class ProductBatchRequest {
+
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 500, message = "At most 500 product IDs per request")
+    @Schema(description = "Product IDs, in the order the results should be returned", example = "[3, 1, 2]")
+    private List<@NotNull(message = "Product ID must not be null") Long> ids;
+}
@@ -0,0 +1,21 @@
+package com.example.ecomt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch product lookup response")
+public class ProductBatchResponse {
+
+    @Schema(description = "Active products in request order, duplicates collapsed")
+    private List<ProductResponse> products;
+
+    @Schema(description = "Requested IDs that do not exist or are not active", example = "[42]")
+    private List<Long> missingIds;
+}
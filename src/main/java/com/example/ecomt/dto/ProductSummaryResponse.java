@@ -0,0 +1,83 @@
+package com.example.ecomt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Grid view of a product, loaded by a JPQL constructor expression so the description,
+ * timestamps and variant rows are never read. Fields left out of a {@code fields=}
+ * selection are nulled and omitted from the JSON.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Product summary for list views")
+public class ProductSummaryResponse {
+
+    public static final List<String> FIELDS = List.of("id", "name", "price", "discountPrice", "image");
+
+    @Schema(description = "Product ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Product name", example = "Nike Air Max 90")
+    private String name;
+
+    @Schema(description = "Product price", example = "99.99")
+    private BigDecimal price;
+
+    @Schema(description = "Product discount price", example = "79.99")
+    private BigDecimal discountPrice;
+
+    @Schema(description = "Product image URL", example = "https://example.com/image.jpg")
+    private String image;
+
+    /**
+     * Parse a comma separated {@code fields=} value.
+     *
+     * @return the selected fields in sorted order, usable as part of a cache key
+     * @throws IllegalArgumentException for a field the summary does not carry
+     */
+    public static Set<String> parseFields(String fields) {
+        Set<String> selected = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', list views support " + FIELDS
+                        + "; omit fields= for full product details");
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? new TreeSet<>(FIELDS) : selected;
+    }
+
+    public ProductSummaryResponse retain(Set<String> fields) {
+        if (!fields.contains("id")) {
+            id = null;
+        }
+        if (!fields.contains("name")) {
+            name = null;
+        }
+        if (!fields.contains("price")) {
+            price = null;
+        }
+        if (!fields.contains("discountPrice")) {
+            discountPrice = null;
+        }
+        if (!fields.contains("image")) {
+            image = null;
+        }
+        return this;
+    }
+}
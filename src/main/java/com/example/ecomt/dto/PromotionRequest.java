@@ -0,0 +1,65 @@
+package com.example.ecomt.dto;
+
+import com.example.ecomt.entity.Promotion;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "Promotion request. Promotions without a code apply automatically; only one promotion, the largest discount, applies per order")
+public class PromotionRequest {
+    
+    @Size(max = 50, message = "Coupon code must be at most 50 characters")
+    @Pattern(regexp = "^[A-Za-z0-9_-]*$", message = "Coupon code may only contain letters, digits, '-' and '_'")
+    @Schema(description = "Coupon code, case-insensitive. Leave empty for an automatic promotion", example = "SALE10")
+    private String code;
+    
+    @NotBlank(message = "Promotion name is required")
+    @Size(max = 255, message = "Promotion name must be at most 255 characters")
+    @Schema(description = "Promotion name", example = "10% off sneakers")
+    private String name;
+    
+    @NotNull(message = "Discount type is required")
+    @Schema(description = "Discount type", example = "PERCENTAGE")
+    private Promotion.DiscountType discountType;
+    
+    @NotNull(message = "Discount value is required")
+    @DecimalMin(value = "0", inclusive = false, message = "Discount value must be greater than 0")
+    @Schema(description = "Percent off for PERCENTAGE, amount off for FIXED", example = "10")
+    private BigDecimal discountValue;
+    
+    @DecimalMin(value = "0", inclusive = false, message = "Max discount must be greater than 0")
+    @Schema(description = "Cap on the discount amount", example = "100000")
+    private BigDecimal maxDiscount;
+    
+    @DecimalMin(value = "0", message = "Minimum subtotal must not be negative")
+    @Schema(description = "Minimum subtotal of the items the promotion applies to", example = "300000")
+    private BigDecimal minSubtotal;
+    
+    @Schema(description = "Limit the promotion to a category", example = "1")
+    private Long categoryId;
+    
+    @Schema(description = "Limit the promotion to a brand", example = "1")
+    private Long brandId;
+    
+    @Min(value = 1, message = "Usage limit must be at least 1")
+    @Schema(description = "Maximum number of orders that can use the promotion; empty for unlimited", example = "100")
+    private Integer usageLimit;
+    
+    @Schema(description = "Start of the promotion", example = "2024-01-01T00:00:00")
+    private LocalDateTime startsAt;
+    
+    @Schema(description = "End of the promotion (exclusive)", example = "2024-02-01T00:00:00")
+    private LocalDateTime endsAt;
+    
+    @Schema(description = "Promotion active status", example = "true")
+    private Boolean isActive = true;
+}
@@ -0,0 +1,14 @@
+package com.example.ecomt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+@Schema(description = "Refresh token request")
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    @Schema(description = "Refresh token issued at login", example = "q3J0c2V4YW1wbGVyZWZyZXNodG9rZW4")
+    private String refreshToken;
+}
@@ -4,16 +4,20 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "brands")
+@Table(name = "brands", indexes = {
+        @Index(name = "brands_updated_at_index", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@BatchSize(size = 100)
 public class Brand {
     
     @Id
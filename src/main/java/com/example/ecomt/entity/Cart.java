@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", uniqueConstraints = {
+        @UniqueConstraint(name = "carts_user_id_unique", columnNames = "user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
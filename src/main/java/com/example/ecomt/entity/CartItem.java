@@ -5,12 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+        @UniqueConstraint(name = "cart_items_cart_id_variant_id_unique", columnNames = {"cart_id", "variant_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +32,11 @@ public class CartItem {
     @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(name = "cart_items_product_id_foreign"))
     private Product product;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "variant_id", nullable = false, foreignKey = @ForeignKey(name = "cart_items_variant_id_foreign"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ProductVariant variant;
+    
     @Column(nullable = false)
     private Integer quantity = 1;
     
@@ -10,6 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -17,7 +19,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "orders_user_id_created_at_index", columnList = "user_id, created_at"),
+        @Index(name = "orders_status_created_at_index", columnList = "status, created_at"),
+        @Index(name = "orders_created_at_index", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -76,6 +82,12 @@ public class Order {
     @Column(name = "discount_amount", precision = 10, scale = 2)
     private BigDecimal discountAmount = BigDecimal.ZERO;
     
+    // The promotion the discount came from; the amount stays on the order if it is deleted
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promotion_id", foreignKey = @ForeignKey(name = "orders_promotion_id_foreign"))
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Promotion promotion;
+    
     @Column(name = "final_total", precision = 10, scale = 2)
     private BigDecimal finalTotal;
     
@@ -5,13 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_details")
+@Table(name = "order_details", indexes = {
+        @Index(name = "order_details_order_id_index", columnList = "order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +33,18 @@ public class OrderDetail {
     @JoinColumn(name = "product_id", foreignKey = @ForeignKey(name = "order_details_product_id_foreign"))
     private Product product;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "variant_id", foreignKey = @ForeignKey(name = "order_details_variant_id_foreign"))
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private ProductVariant variant;
+    
+    // Copied from the variant at checkout, so the line still reads right after the variant changes
+    @Column(name = "variant_size", length = 50)
+    private String variantSize;
+    
+    @Column(name = "variant_color", length = 50)
+    private String variantColor;
+    
     @Column(nullable = false)
     private Integer quantity;
     
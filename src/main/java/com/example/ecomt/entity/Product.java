@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,7 +18,8 @@ import java.util.List;
         @Index(name = "products_created_at_index", columnList = "created_at"),
         @Index(name = "products_is_active_index", columnList = "is_active"),
         @Index(name = "products_name_index", columnList = "name"),
-        @Index(name = "products_price_index", columnList = "price")
+        @Index(name = "products_price_index", columnList = "price"),
+        @Index(name = "products_updated_at_index", columnList = "updated_at")
 })
 @Data
 @NoArgsConstructor
@@ -60,7 +62,9 @@ public class Product {
     @JoinColumn(name = "brand_id", foreignKey = @ForeignKey(name = "products_brand_id_foreign"))
     private Brand brand;
 
+    // Variants of up to 100 products in the persistence context load in one IN query
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<ProductVariant> variants;
 
     @CreationTimestamp
@@ -0,0 +1,63 @@
+package com.example.ecomt.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized copy of a product as the public API returns it. The document column holds
+ * the serialized ProductResponse; the other columns are there to filter and sort on.
+ */
+@Entity
+@Table(name = "product_read_model", indexes = {
+        @Index(name = "product_read_model_is_active_category_id_index", columnList = "is_active, category_id"),
+        @Index(name = "product_read_model_is_active_brand_id_index", columnList = "is_active, brand_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReadModel {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_name", length = 100)
+    private String categoryName;
+
+    @Column(name = "brand_id")
+    private Long brandId;
+
+    @Column(name = "brand_name", length = 100)
+    private String brandName;
+
+    @Column(name = "effective_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal effectivePrice;
+
+    @Column(name = "min_variant_stock")
+    private Integer minVariantStock;
+
+    @Column(name = "max_variant_stock")
+    private Integer maxVariantStock;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String document;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
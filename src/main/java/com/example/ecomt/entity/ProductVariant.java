@@ -10,7 +10,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "product_variants")
+@Table(name = "product_variants", uniqueConstraints = {
+        @UniqueConstraint(name = "product_variants_product_id_size_color_unique",
+                columnNames = {"product_id", "size", "color"})
+}, indexes = {
+        @Index(name = "product_variants_updated_at_index", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,81 @@
+package com.example.ecomt.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "promotions", uniqueConstraints = {
+        @UniqueConstraint(name = "promotions_code_unique", columnNames = "code")
+}, indexes = {
+        @Index(name = "promotions_updated_at_index", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Promotion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Coupon code entered at checkout, stored upper case; promotions without one apply automatically
+    @Column(length = 50)
+    private String code;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(name = "discount_type", nullable = false, length = 20)
+    private DiscountType discountType;
+    
+    // Percent off for PERCENTAGE, amount off for FIXED
+    @Column(name = "discount_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountValue;
+    
+    @Column(name = "max_discount", precision = 10, scale = 2)
+    private BigDecimal maxDiscount;
+    
+    // Compared with the subtotal of the lines the promotion applies to
+    @Column(name = "min_subtotal", precision = 10, scale = 2)
+    private BigDecimal minSubtotal;
+    
+    @Column(name = "category_id")
+    private Long categoryId;
+    
+    @Column(name = "brand_id")
+    private Long brandId;
+    
+    @Column(name = "usage_limit")
+    private Integer usageLimit;
+    
+    @Column(name = "used_count", nullable = false)
+    private Integer usedCount = 0;
+    
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+    
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+    
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+    
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum DiscountType {
+        PERCENTAGE, FIXED
+    }
+}
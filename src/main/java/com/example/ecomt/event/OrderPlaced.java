@@ -0,0 +1,18 @@
+package com.example.ecomt.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlaced {
+
+    private Long orderId;
+    private Long userId;
+    private BigDecimal finalTotal;
+    private int itemCount;
+}
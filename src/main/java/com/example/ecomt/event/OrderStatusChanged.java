@@ -0,0 +1,17 @@
+package com.example.ecomt.event;
+
+import com.example.ecomt.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChanged {
+
+    private Long orderId;
+    private Long userId;
+    private Order.OrderStatus previousStatus;
+    private Order.OrderStatus newStatus;
+}
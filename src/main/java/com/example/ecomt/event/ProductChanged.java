@@ -0,0 +1,21 @@
+package com.example.ecomt.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product, or one of its variants, was created, updated or deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChanged {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED, VARIANTS_CHANGED
+    }
+
+    private Long productId;
+    private Change change;
+}
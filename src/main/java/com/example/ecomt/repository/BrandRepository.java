@@ -2,6 +2,8 @@ package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.Brand;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,10 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
     Optional<Brand> findByName(String name);
     
     boolean existsByName(String name);
+    
+    @Query("SELECT COUNT(b) AS count, MAX(b.updatedAt) AS lastUpdated FROM Brand b")
+    UpdateStamp findUpdateStamp();
+    
+    @Query("SELECT COUNT(b) AS count, MAX(b.updatedAt) AS lastUpdated FROM Brand b WHERE b.id = :id")
+    UpdateStamp findUpdateStampById(@Param("id") Long id);
 }
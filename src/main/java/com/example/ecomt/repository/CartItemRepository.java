@@ -1,20 +1,47 @@
 package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.CartItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     
+    // Only ever read to build responses, so Hibernate keeps no dirty-checking snapshots
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<CartItem> findByCartId(Long cartId);
     
-    Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
+    // Checkout needs the product and variant of every line; they stay readable after the stock updates clear the session
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product JOIN FETCH ci.variant WHERE ci.cart.id = :cartId")
+    List<CartItem> findWithProductAndVariantByCartId(@Param("cartId") Long cartId);
+    
+    /**
+     * Add to a cart line: inserts it, or increments its quantity when the unique key on
+     * (cart_id, variant_id) already holds it. There is no read-modify-write, so concurrent
+     * adds of the same variant end on one line with every quantity counted.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cart_items (cart_id, product_id, variant_id, quantity, created_at, updated_at) "
+            + "VALUES (:cartId, :productId, :variantId, :quantity, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6)) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity, updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int addQuantity(@Param("cartId") Long cartId, @Param("productId") Long productId,
+            @Param("variantId") Long variantId, @Param("quantity") int quantity);
     
     void deleteByCartId(Long cartId);
     
+    // Checkout deletes only lines that still hold the quantity it read, so a concurrent change fails it
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id AND ci.quantity = :quantity")
+    int deleteOrderedLine(@Param("id") Long id, @Param("quantity") int quantity);
+    
     boolean existsByCartIdAndProductId(Long cartId, Long productId);
 }
@@ -1,7 +1,12 @@
 package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +17,19 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserId(Long userId);
     
     boolean existsByUserId(Long userId);
+    
+    /**
+     * Create the user's cart unless one exists. The unique key on user_id turns a
+     * concurrent second insert into a no-op instead of a duplicate cart.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO carts (user_id, created_at, updated_at) "
+            + "VALUES (:userId, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6)) "
+            + "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+    
+    // Locking read: sees a cart committed by a concurrent request after this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findByUserIdForShare(@Param("userId") Long userId);
 }
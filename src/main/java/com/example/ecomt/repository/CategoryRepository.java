@@ -2,6 +2,8 @@ package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     
     boolean existsByName(String name);
+    
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS lastUpdated FROM Category c")
+    UpdateStamp findUpdateStamp();
+    
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS lastUpdated FROM Category c WHERE c.id = :id")
+    UpdateStamp findUpdateStampById(@Param("id") Long id);
 }
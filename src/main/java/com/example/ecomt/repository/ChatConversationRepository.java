@@ -0,0 +1,9 @@
+package com.example.ecomt.repository;
+
+import com.example.ecomt.entity.ChatConversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChatConversationRepository extends JpaRepository<ChatConversation, String> {
+}
@@ -1,7 +1,10 @@
 package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.OrderDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +12,8 @@ import java.util.List;
 @Repository
 public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long> {
     
+    // Only ever read to build responses, so Hibernate keeps no dirty-checking snapshots
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<OrderDetail> findByOrderId(Long orderId);
     
     List<OrderDetail> findByProductId(Long productId);
@@ -0,0 +1,23 @@
+package com.example.ecomt.repository;
+
+import com.example.ecomt.entity.ProductReadModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductReadModelRepository extends JpaRepository<ProductReadModel, Long> {
+    
+    Optional<ProductReadModel> findByProductIdAndIsActiveTrue(Long productId);
+    
+    List<ProductReadModel> findByIsActiveTrueOrderByProductId();
+    
+    List<ProductReadModel> findByCategoryIdAndIsActiveTrueOrderByProductId(Long categoryId);
+    
+    List<ProductReadModel> findByBrandIdAndIsActiveTrueOrderByProductId(Long brandId);
+    
+    List<ProductReadModel> findByProductIdInAndIsActiveTrue(Collection<Long> productIds);
+}
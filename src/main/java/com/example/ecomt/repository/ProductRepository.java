@@ -1,12 +1,16 @@
 package com.example.ecomt.repository;
 
+import com.example.ecomt.dto.ProductSummaryResponse;
 import com.example.ecomt.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     List<Product> findByBrandIdAndIsActiveTrue(Long brandId);
     
+    List<Product> findByCategoryId(Long categoryId);
+    
+    List<Product> findByBrandId(Long brandId);
+    
+    // Checkout locks the products it sells, in id order, so their read model rows are rebuilt one order at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Locking read: the latest committed row, not this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+    
     List<Product> findByNameContainingIgnoreCaseAndIsActiveTrue(String name);
     
     List<Product> findByPriceBetweenAndIsActiveTrue(BigDecimal minPrice, BigDecimal maxPrice);
@@ -35,7 +53,39 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                         @Param("maxPrice") BigDecimal maxPrice,
                                         @Param("name") String name);
     
+    // List projections: only the grid columns are selected, no variants or TEXT columns are read
+
+    String SUMMARY_SELECT = "SELECT new com.example.ecomt.dto.ProductSummaryResponse(" +
+            "p.id, p.name, p.price, p.discountPrice, p.image) FROM Product p WHERE p.isActive = true";
+
+    @Query(SUMMARY_SELECT)
+    List<ProductSummaryResponse> findActiveSummaries();
+
+    @Query(SUMMARY_SELECT + " AND p.category.id = :categoryId")
+    List<ProductSummaryResponse> findActiveSummariesByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(SUMMARY_SELECT + " AND p.brand.id = :brandId")
+    List<ProductSummaryResponse> findActiveSummariesByBrandId(@Param("brandId") Long brandId);
+
+    @Query(SUMMARY_SELECT + " AND " +
+           "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
+           "(:brandId IS NULL OR p.brand.id = :brandId) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))")
+    List<ProductSummaryResponse> findSummariesWithFilters(@Param("categoryId") Long categoryId,
+                                                          @Param("brandId") Long brandId,
+                                                          @Param("minPrice") BigDecimal minPrice,
+                                                          @Param("maxPrice") BigDecimal maxPrice,
+                                                          @Param("name") String name);
+    
     boolean existsByName(String name);
     
     Optional<Product> findByIdAndIsActiveTrue(Long id);
+    
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Product p")
+    UpdateStamp findUpdateStamp();
+    
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Product p WHERE p.id = :id")
+    UpdateStamp findUpdateStampById(@Param("id") Long id);
 }
@@ -1,9 +1,15 @@
 package com.example.ecomt.repository;
 
 import com.example.ecomt.entity.ProductVariant;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +20,33 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     
     List<ProductVariant> findByProductId(Long productId);
     
+    // Locking read: sees stock committed by concurrent checkouts after this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT v FROM ProductVariant v WHERE v.product.id = :productId")
+    List<ProductVariant> findByProductIdForShare(@Param("productId") Long productId);
+    
+    Optional<ProductVariant> findByIdAndIsActiveTrue(Long id);
+    
+    /**
+     * Take stock from an active variant if it has enough, in one conditional statement.
+     * Returns 0 when it does not, leaving the row untouched. updated_at moves with the
+     * stock so catalog ETags change. Clears the session, whose variants would be stale.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductVariant v SET v.stockQuantity = v.stockQuantity - :quantity, v.updatedAt = :now "
+            + "WHERE v.id = :variantId AND v.isActive = true AND v.stockQuantity >= :quantity")
+    int decrementStock(@Param("variantId") Long variantId, @Param("quantity") int quantity,
+            @Param("now") LocalDateTime now);
+    
     Optional<ProductVariant> findByProductIdAndSizeAndColorAndIsActiveTrue(Long productId, String size, String color);
     
     boolean existsByProductIdAndSizeAndColor(Long productId, String size, String color);
     
     List<ProductVariant> findByIsActiveTrue();
+    
+    @Query("SELECT COUNT(v) AS count, MAX(v.updatedAt) AS lastUpdated FROM ProductVariant v")
+    UpdateStamp findUpdateStamp();
+    
+    @Query("SELECT COUNT(v) AS count, MAX(v.updatedAt) AS lastUpdated FROM ProductVariant v WHERE v.product.id = :productId")
+    UpdateStamp findUpdateStampByProductId(@Param("productId") Long productId);
 }
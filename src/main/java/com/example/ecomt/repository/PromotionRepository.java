@@ -0,0 +1,31 @@
+package com.example.ecomt.repository;
+
+import com.example.ecomt.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+    
+    List<Promotion> findByIsActiveTrue();
+    
+    boolean existsByCode(String code);
+    
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Promotion p")
+    UpdateStamp findUpdateStamp();
+    
+    /**
+     * Count one use if the limit allows it, in one conditional statement; returns 0 when
+     * the promotion is used up or no longer active. updated_at is left alone so checkouts
+     * do not trigger index rebuilds.
+     */
+    @Modifying
+    @Query("UPDATE Promotion p SET p.usedCount = p.usedCount + 1 "
+            + "WHERE p.id = :id AND p.isActive = true AND (p.usageLimit IS NULL OR p.usedCount < p.usageLimit)")
+    int claimUse(@Param("id") Long id);
+}
@@ -0,0 +1,14 @@
+package com.example.ecomt.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and newest updated_at of a set of rows, so HTTP validators can be derived
+ * without loading the rows themselves.
+ */
+public interface UpdateStamp {
+
+    long getCount();
+
+    LocalDateTime getLastUpdated();
+}
@@ -4,9 +4,9 @@ import com.example.ecomt.dto.*;
 import com.example.ecomt.entity.User;
 import com.example.ecomt.repository.UserRepository;
 import com.example.ecomt.util.JwtUtil;
+import com.example.ecomt.util.TokenDenylist;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,33 +18,61 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final CartService cartService;
+    private final PasswordVerificationService passwordVerificationService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenDenylist tokenDenylist;
 
     public AuthResponse login(LoginRequest request) {
         try {
             User user = userRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            boolean passwordMatches = passwordEncoder.matches(request.getPassword(), user.getPassword());
-            if (!passwordMatches) {
+            // Single BCrypt check on the bounded verification pool; no second pass through the AuthenticationManager
+            PasswordVerificationService.Verification verification =
+                    passwordVerificationService.verify(request.getPassword(), user.getPassword());
+            if (!verification.matches()) {
                 throw new RuntimeException("Bad credentials");
             }
 
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-            String roleName = user.getRole().name().toLowerCase();
-            String roleWithPrefix = "ROLE_" + user.getRole().name().toUpperCase();
-            String token = jwtUtil.generateTokenWithRole(user.getEmail(), roleWithPrefix);
+            // Transparently re-encode hashes created with a different BCrypt cost
+            if (verification.getUpgradedHash() != null) {
+                user.setPassword(verification.getUpgradedHash());
+                userRepository.save(user);
+            }
 
-            return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), roleName);
+            return buildAuthResponse(user, refreshTokenService.issue(user));
         } catch (Exception e) {
             throw new RuntimeException("Login failed: " + e.getMessage());
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access token; no password hashing is involved.
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        if (rotation == null) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
+        return buildAuthResponse(rotation.getUser(), rotation.getRefreshToken());
+    }
+
+    public ApiResponse logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            try {
+                Claims claims = jwtUtil.extractAllClaims(accessToken);
+                tokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+            } catch (Exception e) {
+                // Expired or malformed tokens are already unusable
+            }
+        }
+        return ApiResponse.success("Logged out successfully");
+    }
+
     public AuthResponse register(RegisterRequest request) {
         try {
             if (userRepository.existsByEmail(request.getEmail())) {
@@ -57,22 +85,10 @@ public class AuthService {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
             user.setRole(User.Role.USER); // Luôn tạo với role USER
 
+            // The cart is created on the first add-to-cart, not at signup
             user = userRepository.save(user);
 
-            // Tự động tạo cart cho user mới
-            try {
-                cartService.getOrCreateCart(user.getId());
-            } catch (Exception e) {
-                // Log error but don't fail registration
-                System.err.println("Failed to create cart for new user: " + e.getMessage());
-            }
-
-            // Tạo JWT token với role định dạng ROLE_xxx
-            String roleName = user.getRole().name().toLowerCase();
-            String roleWithPrefix = "ROLE_" + user.getRole().name().toUpperCase();
-            String token = jwtUtil.generateTokenWithRole(user.getEmail(), roleWithPrefix);
-
-            return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), roleName);
+            return buildAuthResponse(user, refreshTokenService.issue(user));
         } catch (RuntimeException e) {
             System.err.println("Registration error: " + e.getMessage());
             throw e;
@@ -90,13 +106,26 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordVerificationService.verify(request.getCurrentPassword(), user.getPassword()).matches()) {
             throw new RuntimeException("Current password is incorrect");
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        // Force other sessions to log in again with the new password
+        refreshTokenService.revokeAll(user.getId());
 
         return ApiResponse.success("Password changed successfully");
     }
+
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
+        // Tạo JWT token với role định dạng ROLE_xxx
+        String roleName = user.getRole().name().toLowerCase();
+        String roleWithPrefix = "ROLE_" + user.getRole().name().toUpperCase();
+        String token = jwtUtil.generateTokenWithRole(user.getEmail(), roleWithPrefix);
+
+        AuthResponse response = new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), roleName);
+        response.setRefreshToken(refreshToken);
+        return response;
+    }
 }
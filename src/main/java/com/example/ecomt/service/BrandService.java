@@ -5,6 +5,7 @@ import com.example.ecomt.entity.Brand;
 import com.example.ecomt.repository.BrandRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,11 +14,15 @@ import java.util.List;
 public class BrandService {
     
     private final BrandRepository brandRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductReadModelService productReadModelService;
     
+    @Transactional(readOnly = true)
     public List<Brand> getAllBrands() {
         return brandRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Brand getBrandById(Long id) {
         return brandRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Brand not found with id: " + id));
@@ -30,7 +35,9 @@ public class BrandService {
         
         Brand brand = new Brand();
         brand.setName(request.getName());
-        return brandRepository.save(brand);
+        Brand savedBrand = brandRepository.save(brand);
+        catalogVersionService.bump();
+        return savedBrand;
     }
     
     public Brand updateBrand(Long id, BrandRequest request) {
@@ -41,11 +48,16 @@ public class BrandService {
         }
         
         brand.setName(request.getName());
-        return brandRepository.save(brand);
+        Brand savedBrand = brandRepository.save(brand);
+        // Product documents embed the brand name
+        productReadModelService.refreshByBrand(id);
+        catalogVersionService.bump();
+        return savedBrand;
     }
     
     public void deleteBrand(Long id) {
         Brand brand = getBrandById(id);
         brandRepository.delete(brand);
+        catalogVersionService.bump();
     }
 }
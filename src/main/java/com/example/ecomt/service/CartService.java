@@ -3,12 +3,16 @@ package com.example.ecomt.service;
 import com.example.ecomt.dto.*;
 import com.example.ecomt.entity.*;
 import com.example.ecomt.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,34 +23,38 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
-    private final UserRepository userRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final PricingEngine pricingEngine;
+    private final MeterRegistry meterRegistry;
     
-    public CartResponse getOrCreateCart(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> createNewCart(userId));
-        return convertToResponse(cart);
+    @Transactional(readOnly = true)
+    public CartResponse getCart(Long userId) {
+        return getCart(userId, null);
+    }
+    
+    /**
+     * The user's cart, or an empty cart without an id when none exists yet. Reads never
+     * insert; the row is created on the first add-to-cart. A coupon code previews the
+     * discount checkout would give with it.
+     */
+    @Transactional(readOnly = true)
+    public CartResponse getCart(Long userId, String couponCode) {
+        return cartRepository.findByUserId(userId)
+                .map(cart -> convertToResponse(cart, couponCode))
+                .orElseGet(() -> emptyCart(userId));
     }
     
     public CartResponse addToCart(Long userId, AddToCartRequest request) {
         Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> createNewCart(userId));
+                .orElseGet(() -> createCart(userId));
         
         Product product = productRepository.findByIdAndIsActiveTrue(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found or inactive"));
+        ProductVariant variant = resolveVariant(product, request.getVariantId());
         
-        CartItem existingItem = cartItemRepository.findByCartIdAndProductId(cart.getId(), product.getId())
-                .orElse(null);
-        
-        if (existingItem != null) {
-            existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
-            cartItemRepository.save(existingItem);
-        } else {
-            CartItem newItem = new CartItem();
-            newItem.setCart(cart);
-            newItem.setProduct(product);
-            newItem.setQuantity(request.getQuantity());
-            cartItemRepository.save(newItem);
-        }
+        // Insert or increment in one statement, so concurrent adds never duplicate the line or lose a quantity
+        cartItemRepository.addQuantity(cart.getId(), product.getId(), variant.getId(), request.getQuantity());
+        countOperation("add");
         
         return convertToResponse(cart);
     }
@@ -64,6 +72,7 @@ public class CartService {
         
         cartItem.setQuantity(request.getQuantity());
         cartItemRepository.save(cartItem);
+        countOperation("update");
         
         return convertToResponse(cart);
     }
@@ -80,67 +89,113 @@ public class CartService {
         }
         
         cartItemRepository.delete(cartItem);
+        countOperation("remove");
         
         return convertToResponse(cart);
     }
     
     public void clearCart(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
+        // Without a cart row there is nothing to clear
+        cartRepository.findByUserId(userId)
+                .ifPresent(cart -> cartItemRepository.deleteByCartId(cart.getId()));
+        countOperation("clear");
+    }
+    
+    /**
+     * The requested variant of the product. Clients that predate variants send none; that is
+     * only unambiguous when the product has a single active variant.
+     */
+    private ProductVariant resolveVariant(Product product, Long variantId) {
+        if (variantId == null) {
+            List<ProductVariant> variants = productVariantRepository.findByProductIdAndIsActiveTrue(product.getId());
+            if (variants.size() != 1) {
+                throw new IllegalArgumentException("Please choose a size and color for " + product.getName());
+            }
+            return variants.get(0);
+        }
+        return productVariantRepository.findByIdAndIsActiveTrue(variantId)
+                .filter(v -> v.getProduct().getId().equals(product.getId()))
+                .orElseThrow(() -> new RuntimeException("Product variant not found or inactive"));
+    }
+    
+    private void countOperation(String operation) {
+        meterRegistry.counter("shop.cart.operations", "operation", operation).increment();
+    }
+    
+    private Cart createCart(Long userId) {
+        // Safe against a concurrent first add-to-cart: the loser's insert is a no-op and both read the same row
+        cartRepository.insertIfAbsent(userId);
+        return cartRepository.findByUserIdForShare(userId)
                 .orElseThrow(() -> new RuntimeException("Cart not found"));
-        
-        cartItemRepository.deleteByCartId(cart.getId());
     }
     
-    private Cart createNewCart(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Cart cart = new Cart();
-        cart.setUser(user);
-        return cartRepository.save(cart);
+    private CartResponse emptyCart(Long userId) {
+        CartResponse response = new CartResponse();
+        response.setUserId(userId);
+        response.setItems(new ArrayList<>());
+        response.setTotalItems(0);
+        response.setTotalPrice(BigDecimal.ZERO);
+        response.setShippingFee(BigDecimal.ZERO);
+        response.setDiscountAmount(BigDecimal.ZERO);
+        response.setFinalTotal(BigDecimal.ZERO);
+        return response;
     }
     
     private CartResponse convertToResponse(Cart cart) {
+        return convertToResponse(cart, null);
+    }
+    
+    private CartResponse convertToResponse(Cart cart, String couponCode) {
         List<CartItem> items = cartItemRepository.findByCartId(cart.getId());
         
-        List<CartItemResponse> itemResponses = items.stream()
-                .map(this::convertItemToResponse)
-                .collect(Collectors.toList());
+        // Current stock of every line's variant in one IN query
+        Map<Long, ProductVariant> variants = items.isEmpty() ? Map.of()
+                : productVariantRepository.findAllById(items.stream().map(item -> item.getVariant().getId()).toList())
+                        .stream()
+                        .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
         
-        int totalItems = items.stream().mapToInt(CartItem::getQuantity).sum();
-        BigDecimal totalPrice = items.stream()
-                .map(item -> {
-                    BigDecimal price = item.getProduct().getDiscountPrice() != null ? 
-                            item.getProduct().getDiscountPrice() : item.getProduct().getPrice();
-                    return price.multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        PricingEngine.Quote quote = pricingEngine.quote(items, couponCode);
+        List<CartItemResponse> itemResponses = new ArrayList<>(quote.getLines().size());
+        for (PricingEngine.PricedLine line : quote.getLines()) {
+            itemResponses.add(convertItemToResponse(line, variants.get(line.getItem().getVariant().getId())));
+        }
         
         CartResponse response = new CartResponse();
         response.setId(cart.getId());
         response.setUserId(cart.getUser().getId());
         response.setItems(itemResponses);
-        response.setTotalItems(totalItems);
-        response.setTotalPrice(totalPrice);
+        response.setTotalItems(quote.getTotalItems());
+        response.setTotalPrice(quote.getSubtotal());
+        response.setShippingFee(quote.getShippingFee());
+        response.setDiscountAmount(quote.getDiscountAmount());
+        response.setPromotionId(quote.getPromotion() != null ? quote.getPromotion().getPromotionId() : null);
+        response.setFinalTotal(quote.getTotal());
         response.setCreatedAt(cart.getCreatedAt());
         response.setUpdatedAt(cart.getUpdatedAt());
         
         return response;
     }
     
-    private CartItemResponse convertItemToResponse(CartItem item) {
+    private CartItemResponse convertItemToResponse(PricingEngine.PricedLine line, ProductVariant variant) {
+        CartItem item = line.getItem();
         Product product = item.getProduct();
-        BigDecimal price = product.getDiscountPrice() != null ? product.getDiscountPrice() : product.getPrice();
-        BigDecimal subtotal = price.multiply(BigDecimal.valueOf(item.getQuantity()));
         
         CartItemResponse response = new CartItemResponse();
         response.setId(item.getId());
         response.setProductId(product.getId());
         response.setProductName(product.getName());
-        response.setProductPrice(price);
+        response.setVariantId(item.getVariant().getId());
+        if (variant != null) {
+            response.setSize(variant.getSize());
+            response.setColor(variant.getColor());
+            response.setAvailableStock(variant.getStockQuantity());
+        }
+        response.setAvailable(variant != null && Boolean.TRUE.equals(variant.getIsActive())
+                && variant.getStockQuantity() >= item.getQuantity());
+        response.setProductPrice(line.getUnitPrice());
         response.setProductImage(product.getImage());
         response.setQuantity(item.getQuantity());
-        response.setSubtotal(subtotal);
+        response.setSubtotal(line.getLineTotal());
         response.setCreatedAt(item.getCreatedAt());
         response.setUpdatedAt(item.getUpdatedAt());
         
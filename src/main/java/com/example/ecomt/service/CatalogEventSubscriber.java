@@ -0,0 +1,30 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.event.OrderPlaced;
+import com.example.ecomt.event.ProductChanged;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the catalog caches when products change, including the variant stock an
+ * order takes. Delivered by {@link OutboxRelay}, so the caches of this instance go stale
+ * for at most one relay interval after the write commits; HTTP validators are computed
+ * from the database and are never behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEventSubscriber {
+
+    private final CatalogVersionService catalogVersionService;
+
+    @EventListener
+    public void onProductChanged(ProductChanged event) {
+        catalogVersionService.bump();
+    }
+
+    @EventListener
+    public void onOrderPlaced(OrderPlaced event) {
+        catalogVersionService.bump();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import com.example.ecomt.repository.UpdateStamp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+
+/**
+ * HTTP validators for public catalog responses, derived from the row count and newest
+ * updated_at of every table a response is built from. The count catches deletions,
+ * which leave the newest timestamp unchanged. No entity is loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogFreshnessService {
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+
+    public Freshness categories() {
+        return Freshness.of(categoryRepository.findUpdateStamp());
+    }
+
+    public Freshness category(Long id) {
+        return Freshness.ofSingleRow(categoryRepository.findUpdateStampById(id));
+    }
+
+    public Freshness brands() {
+        return Freshness.of(brandRepository.findUpdateStamp());
+    }
+
+    public Freshness brand(Long id) {
+        return Freshness.ofSingleRow(brandRepository.findUpdateStampById(id));
+    }
+
+    /**
+     * Every product listing embeds variants and category/brand names, so all of them
+     * share one validator over the four tables.
+     */
+    public Freshness products() {
+        return Freshness.of(productRepository.findUpdateStamp(), variantRepository.findUpdateStamp(),
+                categoryRepository.findUpdateStamp(), brandRepository.findUpdateStamp());
+    }
+
+    public Freshness product(Long id) {
+        return Freshness.of(productRepository.findUpdateStampById(id), variantRepository.findUpdateStampByProductId(id),
+                categoryRepository.findUpdateStamp(), brandRepository.findUpdateStamp());
+    }
+
+    public Freshness variants() {
+        return Freshness.of(variantRepository.findUpdateStamp(), productRepository.findUpdateStamp());
+    }
+
+    public Freshness variantsOfProduct(Long productId) {
+        return Freshness.of(variantRepository.findUpdateStampByProductId(productId),
+                productRepository.findUpdateStampById(productId));
+    }
+
+    public static final class Freshness {
+        private final String etag;
+        private final long lastModified;
+
+        Freshness(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Validator over several tables. No Last-Modified, since a deletion would not move it.
+         */
+        static Freshness of(UpdateStamp... stamps) {
+            StringBuilder key = new StringBuilder();
+            for (UpdateStamp stamp : stamps) {
+                key.append(stamp.getCount()).append(':').append(toMillis(stamp)).append('|');
+            }
+            String hash = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+            return new Freshness("\"" + hash + "\"", -1);
+        }
+
+        static Freshness ofSingleRow(UpdateStamp stamp) {
+            Freshness freshness = of(stamp);
+            return stamp.getCount() == 1 ? new Freshness(freshness.etag, toMillis(stamp)) : freshness;
+        }
+
+        private static long toMillis(UpdateStamp stamp) {
+            return stamp.getLastUpdated() != null
+                    ? stamp.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : 0;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return epoch millis, or -1 when the response has no meaningful Last-Modified
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ecomt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON, plus a gzip copy, of hot catalog responses. Bodies are built and
+ * compressed once per catalog version and then written to the response as raw bytes,
+ * so repeated hits skip both Jackson and the compressor. Any catalog write bumps the
+ * version and drops every entry.
+ */
+@Component
+public class CatalogJsonCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+
+    private final Map<String, SerializedBody> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SerializedBody> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private long entriesVersion = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CatalogJsonCache(ObjectMapper objectMapper, CatalogVersionService catalogVersionService,
+            @Value("${http.cache.catalog.serialized.enabled:true}") boolean enabled,
+            @Value("${http.cache.catalog.serialized.max-entries:64}") int maxEntries,
+            @Value("${http.cache.catalog.serialized.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.catalogVersionService = catalogVersionService;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Serialized body for the key under the current catalog version, building it on a miss.
+     * The version is read before the body is built, so data loaded concurrently with a
+     * write can only ever be cached under the version that write invalidates.
+     */
+    public SerializedBody get(String key, Supplier<?> body) {
+        if (!enabled || maxEntries <= 0) {
+            return serialize(body.get());
+        }
+        long version = catalogVersionService.current();
+        synchronized (entries) {
+            if (version > entriesVersion) {
+                entries.clear();
+                entriesVersion = version;
+            }
+            SerializedBody cached = entriesVersion == version ? entries.get(key) : null;
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        SerializedBody serialized = serialize(body.get());
+        synchronized (entries) {
+            // Skip the put when a write moved the version on while the body was being built
+            if (entriesVersion == version) {
+                entries.put(key, serialized);
+            }
+        }
+        return serialized;
+    }
+
+    SerializedBody serialize(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        // Not worth a Content-Encoding header when compression does not pay off
+        return new SerializedBody(json, gzip != null && gzip.length < json.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        // Compressed once per catalog version, so spend the CPU on the smallest output
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.json.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("catalog.json.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("catalog.json.cache.bytes", this, CatalogJsonCache::retainedBytes)
+                .baseUnit("bytes").register(registry);
+    }
+
+    private long retainedBytes() {
+        synchronized (entries) {
+            long bytes = 0;
+            for (SerializedBody body : entries.values()) {
+                bytes += body.getJson().length + (body.getGzip() != null ? body.getGzip().length : 0);
+            }
+            return bytes;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public static final class SerializedBody {
+        private final byte[] json;
+        private final byte[] gzip;
+
+        SerializedBody(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * @return the gzip-compressed JSON, or null when the body is too small to compress
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ecomt.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the product catalog (products, variants, categories, brands).
+ * Caches derived from catalog data include this version in their keys so that any
+ * catalog write makes previously cached entries unreachable.
+ */
+@Service
+@Slf4j
+public class CatalogVersionService {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Bump the catalog version. Inside a transaction the bump is deferred until
+     * commit, so readers never cache pre-commit data under the new version.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    private void increment() {
+        long newVersion = version.incrementAndGet();
+        log.debug("Catalog version bumped to {}", newVersion);
+    }
+}
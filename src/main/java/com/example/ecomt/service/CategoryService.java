@@ -5,6 +5,7 @@ import com.example.ecomt.entity.Category;
 import com.example.ecomt.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,11 +14,15 @@ import java.util.List;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductReadModelService productReadModelService;
     
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Category getCategoryById(Long id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
@@ -30,7 +35,9 @@ public class CategoryService {
         
         Category category = new Category();
         category.setName(request.getName());
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        catalogVersionService.bump();
+        return savedCategory;
     }
     
     public Category updateCategory(Long id, CategoryRequest request) {
@@ -41,11 +48,16 @@ public class CategoryService {
         }
         
         category.setName(request.getName());
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        // Product documents embed the category name
+        productReadModelService.refreshByCategory(id);
+        catalogVersionService.bump();
+        return savedCategory;
     }
     
     public void deleteCategory(Long id) {
         Category category = getCategoryById(id);
         categoryRepository.delete(category);
+        catalogVersionService.bump();
     }
 }
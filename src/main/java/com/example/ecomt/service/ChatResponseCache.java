@@ -0,0 +1,209 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ChatResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Caches chat answers for recurring questions. Keys combine the catalog version with
+ * a normalized form of the message (lowercased, diacritics and stop-words removed),
+ * so catalog writes invalidate cached answers without explicit eviction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatResponseCache implements MeterBinder {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    // Vietnamese filler words (without diacritics) that do not change the meaning of a question
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "ah", "ak", "ban", "cac", "cho", "chi", "co", "cua", "duoc", "em", "gi", "ha",
+            "hay", "hello", "hi", "khong", "ko", "k", "la", "minh", "mot", "nao", "nha", "nhe",
+            "nhung", "oi", "shop", "the", "thi", "toi", "vay", "voi", "xin", "chao");
+
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${chat.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${chat.cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedAnswer> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAnswer> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Build the cache key for a message against the current catalog version.
+     *
+     * @return the key, or null when the message should not be cached
+     */
+    public String keyFor(String message) {
+        if (!enabled || maxEntries <= 0) {
+            return null;
+        }
+        String normalized = normalize(message);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return catalogVersionService.current() + "|" + normalized;
+    }
+
+    public ChatResponse get(String key) {
+        if (key == null) {
+            return null;
+        }
+        CachedAnswer answer;
+        synchronized (entries) {
+            answer = entries.get(key);
+            if (answer != null && answer.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                answer = null;
+            }
+        }
+        if (answer == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return answer.toResponse();
+    }
+
+    public void put(String key, ChatResponse response) {
+        if (key == null) {
+            return;
+        }
+        CachedAnswer answer = new CachedAnswer(response, System.nanoTime() + ttlSeconds * 1_000_000_000L);
+        synchronized (entries) {
+            entries.put(key, answer);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("chat.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("chat.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("chat.cache.evictions", evictions, AtomicLong::get).register(registry);
+        Gauge.builder("chat.cache.size", this, cache -> {
+            synchronized (cache.entries) {
+                return cache.entries.size();
+            }
+        }).register(registry);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public static String normalize(String message) {
+        if (message == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(message.toLowerCase(), Normalizer.Form.NFD);
+        text = DIACRITICS.matcher(text).replaceAll("").replace('đ', 'd');
+        text = NON_ALPHANUMERIC.matcher(text).replaceAll(" ");
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (String token : text.split(" ")) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(token);
+        }
+        return normalized.toString();
+    }
+
+    private static final class CachedAnswer {
+        private final String message;
+        private final List<ChatResponse.ProductInfo> products;
+        private final List<ChatResponse.CategoryInfo> categories;
+        private final List<ChatResponse.BrandInfo> brands;
+        private final long expiresAtNanos;
+
+        private CachedAnswer(ChatResponse response, long expiresAtNanos) {
+            this.message = response.getMessage();
+            this.products = List.copyOf(response.getSuggestedProducts());
+            this.categories = List.copyOf(response.getSuggestedCategories());
+            this.brands = List.copyOf(response.getSuggestedBrands());
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+
+        private ChatResponse toResponse() {
+            ChatResponse response = new ChatResponse();
+            response.setMessage(message);
+            response.setSuggestedProducts(new ArrayList<>(products));
+            response.setSuggestedCategories(new ArrayList<>(categories));
+            response.setSuggestedBrands(new ArrayList<>(brands));
+            return response;
+        }
+    }
+}
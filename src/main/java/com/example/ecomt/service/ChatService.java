@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,42 +23,90 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChatService {
 
+    private static final int CONTEXT_PRODUCT_LIMIT = 20;
+
     private final GeminiService geminiService;
     private final ProductService productService;
     private final CategoryRepository categoryRepository;
     private final BrandRepository brandRepository;
+    private final ChatResponseCache chatResponseCache;
+    private final ConversationMemoryService conversationMemoryService;
 
     public ChatResponse processChat(ChatRequest request) {
+        String conversationId = UUID.randomUUID().toString();
         try {
+            // Only a conversation this server issued and still remembers is continued; any other id
+            // starts a new one, so a client cannot pick an id and read or extend someone else's history
+            ConversationMemoryService.Conversation conversation = findIssuedConversation(request.getConversationId());
+            if (conversation != null) {
+                conversationId = conversation.getId();
+            }
+            boolean followUp = conversation != null && !conversation.isEmpty();
+
+            // Recurring opening questions are answered from cache without touching the catalog or Gemini
+            String cacheKey = followUp ? null : chatResponseCache.keyFor(request.getMessage());
+            ChatResponse cached = chatResponseCache.get(cacheKey);
+            if (cached != null) {
+                List<Long> suggestedIds = cached.getSuggestedProducts().stream()
+                        .map(ChatResponse.ProductInfo::getId)
+                        .collect(Collectors.toList());
+                conversationMemoryService.recordTurn(conversationId, request.getMessage(), cached.getMessage(), suggestedIds);
+                cached.setConversationId(conversationId);
+                cached.setTimestamp(LocalDateTime.now());
+                return cached;
+            }
+
             // Get all available data
             List<ProductResponse> allProducts = productService.getAllActiveProducts();
             List<Category> allCategories = categoryRepository.findAll();
             List<Brand> allBrands = brandRepository.findAll();
 
-            // Build context for Gemini
-            String context = buildProductContext(allProducts, allCategories, allBrands);
-            
-            // Create enhanced prompt
-            String enhancedPrompt = createEnhancedPrompt(request.getMessage(), context);
-            
+            // Analyze the user message to find relevant products
+            List<ProductResponse> relevantProducts = matchRelevantProducts(request.getMessage(), allProducts);
+
+            String enhancedPrompt;
+            List<Long> productIdsSent;
+            if (followUp) {
+                // Follow-ups only carry the conversation summary and products the model has not seen yet
+                Set<Long> alreadySent = conversation.getMentionedProductIds();
+                List<ProductResponse> newProducts = relevantProducts.stream()
+                        .filter(product -> !alreadySent.contains(product.getId()))
+                        .collect(Collectors.toList());
+                enhancedPrompt = createFollowUpPrompt(request.getMessage(), conversation, newProducts);
+                productIdsSent = newProducts.stream().map(ProductResponse::getId).collect(Collectors.toList());
+            } else {
+                // Build context for Gemini
+                String context = buildProductContext(allProducts, allCategories, allBrands);
+                enhancedPrompt = createEnhancedPrompt(request.getMessage(), context);
+                productIdsSent = allProducts.stream()
+                        .limit(CONTEXT_PRODUCT_LIMIT)
+                        .map(ProductResponse::getId)
+                        .collect(Collectors.toList());
+            }
+
             // Get response from Gemini
             String geminiResponse = geminiService.generateResponse(enhancedPrompt);
-            
-            // Analyze the user message to suggest relevant products
-            List<ChatResponse.ProductInfo> suggestedProducts = findRelevantProducts(request.getMessage(), allProducts);
+
+            List<ChatResponse.ProductInfo> suggestedProducts = relevantProducts.stream()
+                    .map(this::convertToProductInfo)
+                    .collect(Collectors.toList());
             List<ChatResponse.CategoryInfo> suggestedCategories = findRelevantCategories(request.getMessage(), allCategories);
             List<ChatResponse.BrandInfo> suggestedBrands = findRelevantBrands(request.getMessage(), allBrands);
 
             // Create response
             ChatResponse response = new ChatResponse();
             response.setMessage(geminiResponse);
-            response.setConversationId(request.getConversationId() != null ? 
-                request.getConversationId() : UUID.randomUUID().toString());
+            response.setConversationId(conversationId);
             response.setTimestamp(LocalDateTime.now());
             response.setSuggestedProducts(suggestedProducts);
             response.setSuggestedCategories(suggestedCategories);
             response.setSuggestedBrands(suggestedBrands);
 
+            if (!geminiService.isFallbackResponse(geminiResponse)) {
+                chatResponseCache.put(cacheKey, response);
+                conversationMemoryService.recordTurn(conversationId, request.getMessage(), geminiResponse, productIdsSent);
+            }
+
             return response;
 
         } catch (Exception e) {
@@ -65,8 +114,7 @@ public class ChatService {
             
             ChatResponse errorResponse = new ChatResponse();
             errorResponse.setMessage("Xin lỗi, đã có lỗi xảy ra. Vui lòng thử lại sau.");
-            errorResponse.setConversationId(request.getConversationId() != null ? 
-                request.getConversationId() : UUID.randomUUID().toString());
+            errorResponse.setConversationId(conversationId);
             errorResponse.setTimestamp(LocalDateTime.now());
             errorResponse.setSuggestedProducts(new ArrayList<>());
             errorResponse.setSuggestedCategories(new ArrayList<>());
@@ -76,6 +124,21 @@ public class ChatService {
         }
     }
 
+    private ConversationMemoryService.Conversation findIssuedConversation(String conversationId) {
+        // Issued ids are random UUIDs in canonical form; anything else cannot be one of ours
+        if (conversationId == null) {
+            return null;
+        }
+        try {
+            if (!UUID.fromString(conversationId).toString().equals(conversationId)) {
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return conversationMemoryService.find(conversationId);
+    }
+
     private String buildProductContext(List<ProductResponse> products, List<Category> categories, List<Brand> brands) {
         StringBuilder context = new StringBuilder();
         
@@ -96,20 +159,12 @@ public class ChatService {
         }
         context.append("\n");
         
-        // Add products info (limit to first 20 to avoid token limits)
+        // Add products info (limit to avoid token limits)
         context.append("SẢN PHẨM HIỆN CÓ:\n");
         int count = 0;
         for (ProductResponse product : products) {
-            if (count >= 20) break;
-            context.append("- ").append(product.getName())
-                   .append(" (").append(product.getPrice()).append(" VND)");
-            if (product.getCategory() != null) {
-                context.append(" - Danh mục: ").append(product.getCategory().getName());
-            }
-            if (product.getBrand() != null) {
-                context.append(" - Thương hiệu: ").append(product.getBrand().getName());
-            }
-            context.append("\n");
+            if (count >= CONTEXT_PRODUCT_LIMIT) break;
+            appendProductLine(context, product);
             count++;
         }
         
@@ -120,11 +175,51 @@ public class ChatService {
         return context.toString();
     }
 
+    private void appendProductLine(StringBuilder context, ProductResponse product) {
+        context.append("- ").append(product.getName())
+               .append(" (").append(product.getPrice()).append(" VND)");
+        if (product.getCategory() != null) {
+            context.append(" - Danh mục: ").append(product.getCategory().getName());
+        }
+        if (product.getBrand() != null) {
+            context.append(" - Thương hiệu: ").append(product.getBrand().getName());
+        }
+        context.append("\n");
+    }
+
     private String createEnhancedPrompt(String userMessage, String context) {
         return context + "KHÁCH HÀNG HỎI: " + userMessage + "\n\nTRẢ LỜI:";
     }
 
-    private List<ChatResponse.ProductInfo> findRelevantProducts(String message, List<ProductResponse> products) {
+    private String createFollowUpPrompt(String userMessage, ConversationMemoryService.Conversation conversation,
+            List<ProductResponse> newProducts) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Bạn là trợ lý AI của một cửa hàng thương mại điện tử và đang tiếp tục cuộc trò chuyện với khách hàng. ");
+        prompt.append("Trả lời bằng tiếng Việt, thân thiện và nhất quán với các câu trả lời trước.\n\n");
+
+        if (!conversation.getSummary().isEmpty()) {
+            prompt.append("TÓM TẮT CUỘC TRÒ CHUYỆN:\n").append(conversation.getSummary()).append("\n\n");
+        }
+
+        prompt.append("LỊCH SỬ GẦN ĐÂY:\n");
+        for (ConversationMemoryService.Turn turn : conversation.getTurns()) {
+            prompt.append("KHÁCH HÀNG: ").append(turn.getUserMessage()).append("\n");
+            prompt.append("TRỢ LÝ: ").append(turn.getAssistantMessage()).append("\n");
+        }
+        prompt.append("\n");
+
+        if (!newProducts.isEmpty()) {
+            prompt.append("SẢN PHẨM LIÊN QUAN:\n");
+            for (ProductResponse product : newProducts) {
+                appendProductLine(prompt, product);
+            }
+            prompt.append("\n");
+        }
+
+        return prompt + "KHÁCH HÀNG HỎI: " + userMessage + "\n\nTRẢ LỜI:";
+    }
+
+    private List<ProductResponse> matchRelevantProducts(String message, List<ProductResponse> products) {
         String lowerMessage = message.toLowerCase();
         
         return products.stream()
@@ -139,7 +234,6 @@ public class ChatService {
                      lowerMessage.contains(product.getBrand().getName().toLowerCase()))
                 )
                 .limit(5)
-                .map(this::convertToProductInfo)
                 .collect(Collectors.toList());
     }
 
@@ -3,6 +3,8 @@ package com.example.ecomt.service;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Transformation;
 import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,7 @@ import java.util.Map;
 public class CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Upload image to Cloudinary
@@ -32,17 +35,22 @@ public class CloudinaryService {
             throw new IllegalArgumentException("File cannot be null or empty");
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             Map<String, Object> uploadParams = ObjectUtils.asMap(
                     "folder", folder,
                     "resource_type", "image");
 
             Map<String, Object> result = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            outcome = "success";
             log.info("Image uploaded successfully: {}", result.get("public_id"));
             return result;
         } catch (IOException e) {
             log.error("Error uploading image to Cloudinary: ", e);
             throw new IOException("Failed to upload image: " + e.getMessage());
+        } finally {
+            stopTimer(sample, "upload", outcome);
         }
     }
 
@@ -59,16 +67,29 @@ public class CloudinaryService {
             throw new IllegalArgumentException("Public ID cannot be null or empty");
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             Map<String, Object> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            outcome = "success";
             log.info("Image deleted successfully: {}", publicId);
             return result;
         } catch (IOException e) {
             log.error("Error deleting image from Cloudinary: ", e);
             throw new IOException("Failed to delete image: " + e.getMessage());
+        } finally {
+            stopTimer(sample, "delete", outcome);
         }
     }
 
+    private void stopTimer(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("cloudinary.requests")
+                .description("Latency of Cloudinary API calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
     /**
      * Generate optimized image URL
      * 
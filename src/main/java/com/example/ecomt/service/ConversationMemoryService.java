@@ -0,0 +1,310 @@
+package com.example.ecomt.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a compact rolling history per chat conversation so follow-up prompts only
+ * carry a summary, the most recent turns and newly relevant products instead of
+ * the whole catalog context. Turns that fall outside the per-conversation token
+ * budget are folded into an extractive summary; idle conversations expire and the
+ * least recently used ones are evicted once the global token cap is reached.
+ */
+@Service
+@Slf4j
+public class ConversationMemoryService implements MeterBinder {
+
+    private static final int SWEEP_INTERVAL = 256;
+    private static final int SUMMARY_LINE_MAX_CHARS = 120;
+
+    private final ConversationPersistence persistence;
+
+    @Value("${chat.memory.max-history-tokens:1500}")
+    private int maxHistoryTokens;
+
+    @Value("${chat.memory.summary-max-chars:600}")
+    private int summaryMaxChars;
+
+    @Value("${chat.memory.idle-expiry-minutes:30}")
+    private long idleExpiryMinutes;
+
+    @Value("${chat.memory.max-total-tokens:2000000}")
+    private long maxTotalTokens;
+
+    private final Map<String, Conversation> conversations = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalTokens;
+    private int operationsSinceSweep;
+
+    public ConversationMemoryService(ObjectProvider<ConversationPersistence> persistenceProvider) {
+        this.persistence = persistenceProvider.getIfAvailable();
+    }
+
+    /**
+     * Return a snapshot of the conversation, or null when nothing is known about it.
+     */
+    public Conversation find(String conversationId) {
+        if (conversationId == null) {
+            return null;
+        }
+        synchronized (conversations) {
+            sweepIfDue();
+            Conversation conversation = conversations.get(conversationId);
+            if (conversation != null && !conversation.isIdle(System.nanoTime(), idleExpiryNanos())) {
+                conversation.touch();
+                return conversation.copy();
+            }
+            if (conversation != null) {
+                remove(conversationId);
+            }
+        }
+
+        if (persistence == null) {
+            return null;
+        }
+        Conversation loaded = persistence.load(conversationId).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (conversations) {
+            Conversation existing = conversations.get(conversationId);
+            if (existing != null) {
+                return existing.copy();
+            }
+            loaded.touch();
+            put(loaded);
+            return loaded.copy();
+        }
+    }
+
+    /**
+     * Record a completed turn and the products whose details were sent to the model.
+     */
+    public void recordTurn(String conversationId, String userMessage, String assistantMessage,
+            Collection<Long> productIdsSent) {
+        Conversation snapshot;
+        synchronized (conversations) {
+            Conversation conversation = conversations.get(conversationId);
+            if (conversation == null) {
+                conversation = new Conversation(conversationId);
+            } else {
+                totalTokens -= conversation.estimatedTokens();
+            }
+            conversation.turns.addLast(new Turn(userMessage, assistantMessage));
+            conversation.mentionedProductIds.addAll(productIdsSent);
+            compact(conversation);
+            conversation.touch();
+            put(conversation);
+            enforceGlobalCap();
+            snapshot = conversation.copy();
+        }
+
+        if (persistence != null) {
+            try {
+                persistence.save(snapshot);
+            } catch (Exception e) {
+                log.warn("Failed to persist conversation {}: {}", conversationId, e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (conversations) {
+            return conversations.size();
+        }
+    }
+
+    public long totalTokens() {
+        synchronized (conversations) {
+            return totalTokens;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.memory.conversations", this, ConversationMemoryService::size).register(registry);
+        Gauge.builder("chat.memory.tokens", this, ConversationMemoryService::totalTokens)
+                .description("Estimated tokens held across all conversations")
+                .register(registry);
+    }
+
+    static int estimateTokens(String text) {
+        // Roughly four characters per token is close enough for budgeting purposes
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    private void compact(Conversation conversation) {
+        while (conversation.turns.size() > 1 && conversation.historyTokens() > maxHistoryTokens) {
+            Turn oldest = conversation.turns.removeFirst();
+            conversation.appendSummary(summarize(oldest), summaryMaxChars);
+        }
+    }
+
+    private String summarize(Turn turn) {
+        String question = turn.getUserMessage().replaceAll("\\s+", " ").trim();
+        if (question.length() > SUMMARY_LINE_MAX_CHARS) {
+            question = question.substring(0, SUMMARY_LINE_MAX_CHARS) + "...";
+        }
+        return "- Khách đã hỏi: " + question;
+    }
+
+    private void put(Conversation conversation) {
+        Conversation previous = conversations.put(conversation.getId(), conversation);
+        if (previous != null && previous != conversation) {
+            totalTokens -= previous.estimatedTokens();
+        }
+        totalTokens += conversation.estimatedTokens();
+    }
+
+    private void remove(String conversationId) {
+        Conversation removed = conversations.remove(conversationId);
+        if (removed != null) {
+            totalTokens -= removed.estimatedTokens();
+        }
+    }
+
+    private void enforceGlobalCap() {
+        Iterator<Conversation> eldestFirst = conversations.values().iterator();
+        while (totalTokens > maxTotalTokens && eldestFirst.hasNext()) {
+            Conversation eldest = eldestFirst.next();
+            eldestFirst.remove();
+            totalTokens -= eldest.estimatedTokens();
+            log.debug("Evicted conversation {} to stay within memory cap", eldest.getId());
+        }
+    }
+
+    private void sweepIfDue() {
+        if (++operationsSinceSweep < SWEEP_INTERVAL) {
+            return;
+        }
+        operationsSinceSweep = 0;
+
+        // Access order means idle conversations are always at the head of the map
+        long now = System.nanoTime();
+        Iterator<Conversation> eldestFirst = conversations.values().iterator();
+        while (eldestFirst.hasNext()) {
+            Conversation conversation = eldestFirst.next();
+            if (!conversation.isIdle(now, idleExpiryNanos())) {
+                break;
+            }
+            eldestFirst.remove();
+            totalTokens -= conversation.estimatedTokens();
+        }
+    }
+
+    private long idleExpiryNanos() {
+        return TimeUnit.MINUTES.toNanos(idleExpiryMinutes);
+    }
+
+    public static final class Conversation {
+        private final String id;
+        private final Deque<Turn> turns = new ArrayDeque<>();
+        private final Set<Long> mentionedProductIds = new LinkedHashSet<>();
+        private String summary = "";
+        private long lastAccessNanos;
+
+        public Conversation(String id) {
+            this.id = id;
+        }
+
+        public Conversation(String id, String summary, List<Turn> turns, Collection<Long> mentionedProductIds) {
+            this.id = id;
+            this.summary = summary != null ? summary : "";
+            this.turns.addAll(turns);
+            this.mentionedProductIds.addAll(mentionedProductIds);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public List<Turn> getTurns() {
+            return new ArrayList<>(turns);
+        }
+
+        public Set<Long> getMentionedProductIds() {
+            return new LinkedHashSet<>(mentionedProductIds);
+        }
+
+        public boolean isEmpty() {
+            return turns.isEmpty() && summary.isEmpty();
+        }
+
+        private int historyTokens() {
+            int tokens = 0;
+            for (Turn turn : turns) {
+                tokens += turn.estimatedTokens();
+            }
+            return tokens;
+        }
+
+        private long estimatedTokens() {
+            return historyTokens() + estimateTokens(summary) + mentionedProductIds.size();
+        }
+
+        private void appendSummary(String line, int maxChars) {
+            String combined = summary.isEmpty() ? line : summary + "\n" + line;
+            // Keep the most recent part of the summary when it outgrows its budget
+            while (combined.length() > maxChars && combined.indexOf('\n') >= 0) {
+                combined = combined.substring(combined.indexOf('\n') + 1);
+            }
+            summary = combined;
+        }
+
+        private void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        private boolean isIdle(long nowNanos, long idleNanos) {
+            return nowNanos - lastAccessNanos > idleNanos;
+        }
+
+        private Conversation copy() {
+            Conversation copy = new Conversation(id, summary, new ArrayList<>(turns), mentionedProductIds);
+            copy.lastAccessNanos = lastAccessNanos;
+            return copy;
+        }
+    }
+
+    public static final class Turn {
+        private final String userMessage;
+        private final String assistantMessage;
+
+        public Turn(String userMessage, String assistantMessage) {
+            this.userMessage = userMessage != null ? userMessage : "";
+            this.assistantMessage = assistantMessage != null ? assistantMessage : "";
+        }
+
+        public String getUserMessage() {
+            return userMessage;
+        }
+
+        public String getAssistantMessage() {
+            return assistantMessage;
+        }
+
+        private int estimatedTokens() {
+            return estimateTokens(userMessage) + estimateTokens(assistantMessage);
+        }
+    }
+}
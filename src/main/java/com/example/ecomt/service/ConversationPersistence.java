@@ -0,0 +1,14 @@
+package com.example.ecomt.service;
+
+import java.util.Optional;
+
+/**
+ * Optional durable backend for {@link ConversationMemoryService}. When no bean of this
+ * type is registered, conversations live in memory only.
+ */
+public interface ConversationPersistence {
+
+    Optional<ConversationMemoryService.Conversation> load(String conversationId);
+
+    void save(ConversationMemoryService.Conversation conversation);
+}
@@ -2,6 +2,9 @@ package com.example.ecomt.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,23 +18,53 @@ import org.springframework.web.client.RestTemplate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GeminiService {
 
+    static final String NO_RESPONSE_MESSAGE = "Xin lỗi, tôi không thể tạo phản hồi lúc này. Vui lòng thử lại sau.";
+    static final String ERROR_MESSAGE = "Xin lỗi, đã có lỗi xảy ra khi xử lý yêu cầu của bạn. Vui lòng thử lại sau.";
+
     @Value("${gemini.api.key}")
     private String apiKey;
 
     @Value("${gemini.api.url}")
     private String apiUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${gemini.api.max-concurrent-requests:32}")
+    private int maxConcurrentRequests;
+
+    @Value("${gemini.api.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    private Semaphore concurrencyLimit;
+
+    private final MeterRegistry meterRegistry;
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @PostConstruct
+    void initConcurrencyLimit() {
+        concurrencyLimit = new Semaphore(maxConcurrentRequests);
+    }
+
     public String generateResponse(String prompt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        boolean acquired = false;
         try {
+            // With virtual threads nothing else caps outbound calls, so bound them here
+            acquired = concurrencyLimit.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                outcome = "rejected";
+                log.warn("Too many concurrent Gemini requests, rejecting");
+                return ERROR_MESSAGE;
+            }
+
             // Prepare the request body for Gemini API
             Map<String, Object> requestBody = new HashMap<>();
             
@@ -58,7 +91,7 @@ public class GeminiService {
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
 
             // Make the API call with API key as query parameter
-            String urlWithKey = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent?key=" + apiKey;
+            String urlWithKey = apiUrl + "?key=" + apiKey;
             ResponseEntity<String> response = restTemplate.exchange(
                 urlWithKey,
                 HttpMethod.POST,
@@ -78,17 +111,34 @@ public class GeminiService {
                     if (parts != null && parts.isArray() && parts.size() > 0) {
                         JsonNode text = parts.get(0).get("text");
                         if (text != null) {
+                            outcome = "success";
                             return text.asText();
                         }
                     }
                 }
             }
 
-            return "Xin lỗi, tôi không thể tạo phản hồi lúc này. Vui lòng thử lại sau.";
+            outcome = "no_response";
+            return NO_RESPONSE_MESSAGE;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ERROR_MESSAGE;
         } catch (Exception e) {
             log.error("Error calling Gemini API: ", e);
-            return "Xin lỗi, đã có lỗi xảy ra khi xử lý yêu cầu của bạn. Vui lòng thử lại sau.";
+            return ERROR_MESSAGE;
+        } finally {
+            if (acquired) {
+                concurrencyLimit.release();
+            }
+            sample.stop(Timer.builder("gemini.requests")
+                    .description("Latency of Gemini generateContent calls")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
+
+    public boolean isFallbackResponse(String response) {
+        return NO_RESPONSE_MESSAGE.equals(response) || ERROR_MESSAGE.equals(response);
+    }
 }
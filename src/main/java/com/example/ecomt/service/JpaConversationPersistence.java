@@ -0,0 +1,88 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.ChatConversation;
+import com.example.ecomt.repository.ChatConversationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "chat.memory.persistence", havingValue = "jpa")
+public class JpaConversationPersistence implements ConversationPersistence {
+
+    private static final TypeReference<List<Map<String, String>>> HISTORY_TYPE = new TypeReference<>() {
+    };
+
+    private final ChatConversationRepository conversationRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ConversationMemoryService.Conversation> load(String conversationId) {
+        return conversationRepository.findById(conversationId).map(this::toConversation);
+    }
+
+    @Override
+    @Transactional
+    public void save(ConversationMemoryService.Conversation conversation) {
+        ChatConversation entity = conversationRepository.findById(conversation.getId())
+                .orElseGet(ChatConversation::new);
+        entity.setId(conversation.getId());
+        entity.setSummary(conversation.getSummary());
+        entity.setHistory(writeHistory(conversation.getTurns()));
+        entity.setMentionedProductIds(conversation.getMentionedProductIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",")));
+        conversationRepository.save(entity);
+    }
+
+    private ConversationMemoryService.Conversation toConversation(ChatConversation entity) {
+        List<Long> productIds = new ArrayList<>();
+        if (entity.getMentionedProductIds() != null && !entity.getMentionedProductIds().isBlank()) {
+            Arrays.stream(entity.getMentionedProductIds().split(","))
+                    .map(Long::valueOf)
+                    .forEach(productIds::add);
+        }
+        return new ConversationMemoryService.Conversation(
+                entity.getId(), entity.getSummary(), readHistory(entity.getHistory()), productIds);
+    }
+
+    private String writeHistory(List<ConversationMemoryService.Turn> turns) {
+        List<Map<String, String>> history = turns.stream()
+                .map(turn -> Map.of("user", turn.getUserMessage(), "assistant", turn.getAssistantMessage()))
+                .collect(Collectors.toList());
+        try {
+            return objectMapper.writeValueAsString(history);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize conversation history", e);
+        }
+    }
+
+    private List<ConversationMemoryService.Turn> readHistory(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(json, HISTORY_TYPE).stream()
+                    .map(turn -> new ConversationMemoryService.Turn(turn.get("user"), turn.get("assistant")))
+                    .collect(Collectors.toList());
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable conversation history: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
@@ -2,18 +2,26 @@ package com.example.ecomt.service;
 
 import com.example.ecomt.dto.*;
 import com.example.ecomt.entity.*;
+import com.example.ecomt.event.OrderPlaced;
+import com.example.ecomt.event.OrderStatusChanged;
 import com.example.ecomt.repository.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+// Reads use readOnly, which also puts the Hibernate session in read-only, manual-flush
+// mode: loaded orders keep no snapshots and nothing is dirty-checked on commit
 @Transactional
 public class OrderService {
     
@@ -22,25 +30,36 @@ public class OrderService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final ProductReadModelService productReadModelService;
+    private final PricingEngine pricingEngine;
+    private final PromotionService promotionService;
+    private final MeterRegistry meterRegistry;
+    private final OutboxService outboxService;
     
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
         return orderRepository.findByOrderByCreatedAtDesc().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<OrderResponse> getUserOrders(Long userId) {
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         return convertToResponse(order);
     }
     
+    @Transactional(readOnly = true)
     public OrderResponse getUserOrderById(Long userId, Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -53,71 +72,144 @@ public class OrderService {
     }
     
     public OrderResponse createOrderFromCart(Long userId, CreateOrderRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+        try {
+            OrderResponse response = placeOrder(userId, request);
+            meterRegistry.counter("shop.checkout", "outcome", "success",
+                    "payment_method", String.valueOf(request.getPaymentMethod())).increment();
+            DistributionSummary.builder("shop.checkout.order.value")
+                    .description("Final total of placed orders")
+                    .register(meterRegistry)
+                    .record(response.getFinalTotal() != null ? response.getFinalTotal().doubleValue() : 0);
+            return response;
+        } catch (RuntimeException e) {
+            meterRegistry.counter("shop.checkout", "outcome", "failure",
+                    "payment_method", String.valueOf(request.getPaymentMethod())).increment();
+            throw e;
+        }
+    }
+    
+    private OrderResponse placeOrder(Long userId, CreateOrderRequest request) {
+        // Users get a cart row on their first add-to-cart
         Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
+                .orElseThrow(() -> new RuntimeException("Cart is empty"));
         
-        List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
+        List<CartItem> cartItems = cartItemRepository.findWithProductAndVariantByCartId(cart.getId());
         if (cartItems.isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
         
-        // Calculate total price
-        BigDecimal totalPrice = cartItems.stream()
-                .map(item -> {
-                    BigDecimal price = item.getProduct().getDiscountPrice() != null ? 
-                            item.getProduct().getDiscountPrice() : item.getProduct().getPrice();
-                    return price.multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        claimCartLines(cartItems);
         
-        BigDecimal finalTotal = totalPrice.add(request.getShippingFee()).subtract(request.getDiscountAmount());
+        // Clears the session; anything after it is loaded fresh
+        decrementStock(cartItems);
+        
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        // Amounts are decided server-side; the order keeps what was charged
+        PricingEngine.Quote quote = pricingEngine.quote(cartItems, request.getCouponCode());
+        // Counts a use of the promotion, rolled back with the order if checkout fails
+        quote = quote.withPromotion(promotionService.claim(quote.getPromotions()));
         
         // Create order
         Order order = new Order();
         order.setUser(user);
-        order.setTotalPrice(totalPrice);
+        order.setTotalPrice(quote.getSubtotal());
         order.setStatus(Order.OrderStatus.PENDING);
         order.setShippingAddress(request.getShippingAddress());
         order.setShippingCity(request.getShippingCity());
         order.setShippingDistrict(request.getShippingDistrict());
         order.setShippingWard(request.getShippingWard());
         order.setShippingPhone(request.getShippingPhone());
-        order.setShippingFee(request.getShippingFee());
+        order.setShippingFee(quote.getShippingFee());
         order.setPaymentMethod(request.getPaymentMethod());
         order.setPaymentStatus(Order.PaymentStatus.PENDING);
         order.setNotes(request.getNotes());
-        order.setDiscountAmount(request.getDiscountAmount());
-        order.setFinalTotal(finalTotal);
+        order.setDiscountAmount(quote.getDiscountAmount());
+        if (quote.getPromotion() != null) {
+            order.setPromotion(promotionService.getReference(quote.getPromotion().getPromotionId()));
+        }
+        order.setFinalTotal(quote.getTotal());
         
         Order savedOrder = orderRepository.save(order);
         
-        // Create order details
-        for (CartItem cartItem : cartItems) {
+        // Create order details, each with the unit price it was charged
+        for (PricingEngine.PricedLine line : quote.getLines()) {
+            CartItem cartItem = line.getItem();
             OrderDetail orderDetail = new OrderDetail();
             orderDetail.setOrder(savedOrder);
             orderDetail.setProduct(cartItem.getProduct());
+            orderDetail.setVariant(cartItem.getVariant());
+            orderDetail.setVariantSize(cartItem.getVariant().getSize());
+            orderDetail.setVariantColor(cartItem.getVariant().getColor());
             orderDetail.setQuantity(cartItem.getQuantity());
-            
-            BigDecimal price = cartItem.getProduct().getDiscountPrice() != null ? 
-                    cartItem.getProduct().getDiscountPrice() : cartItem.getProduct().getPrice();
-            orderDetail.setPrice(price);
+            orderDetail.setPrice(line.getUnitPrice());
             
             orderDetailRepository.save(orderDetail);
         }
         
-        // Clear cart
-        cartItemRepository.deleteByCartId(cart.getId());
+        // Public product reads show variant stock
+        cartItems.stream()
+                .map(item -> item.getProduct().getId())
+                .distinct()
+                .forEach(productReadModelService::refreshById);
         
+        // Subscribers invalidate the catalog caches
+        outboxService.append(savedOrder.getId(),
+                new OrderPlaced(savedOrder.getId(), userId, quote.getTotal(), cartItems.size()));
         return convertToResponse(savedOrder);
     }
     
+    /**
+     * Delete the ordered lines from the cart, each only while it still holds the quantity
+     * being ordered. The deletes lock the lines, so a second checkout of the same cart (a
+     * double submit or another tab) waits for this one, then finds its lines gone and fails
+     * instead of placing a duplicate order. Lines are deleted in id order, so two such
+     * checkouts never wait on each other in a cycle.
+     */
+    private void claimCartLines(List<CartItem> cartItems) {
+        List<CartItem> byId = cartItems.stream()
+                .sorted(Comparator.comparing(CartItem::getId))
+                .collect(Collectors.toList());
+        for (CartItem item : byId) {
+            if (cartItemRepository.deleteOrderedLine(item.getId(), item.getQuantity()) == 0) {
+                throw new RuntimeException("Cart has changed, please review it and try again");
+            }
+        }
+    }
+    
+    /**
+     * Take each line's quantity from its variant with a conditional update, so stock is
+     * checked and decremented atomically and never goes negative. Any shortfall throws and
+     * rolls back the whole checkout. The products are locked first, so checkouts of the same
+     * product commit one at a time and each rebuilds its read model row from the other's
+     * committed stock; products and then variants are locked in id order, so concurrent
+     * checkouts never wait on each other in a cycle.
+     */
+    private void decrementStock(List<CartItem> cartItems) {
+        productRepository.findAllByIdForUpdate(cartItems.stream()
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        LocalDateTime now = LocalDateTime.now();
+        List<CartItem> byVariant = cartItems.stream()
+                .sorted(Comparator.comparing(item -> item.getVariant().getId()))
+                .collect(Collectors.toList());
+        for (CartItem item : byVariant) {
+            Product product = item.getProduct();
+            ProductVariant variant = item.getVariant();
+            if (!Boolean.TRUE.equals(product.getIsActive())
+                    || productVariantRepository.decrementStock(variant.getId(), item.getQuantity(), now) == 0) {
+                throw new RuntimeException("Insufficient stock for " + product.getName()
+                        + " (" + variant.getSize() + ", " + variant.getColor() + ")");
+            }
+        }
+    }
+    
     public OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(request.getStatus());
         if (request.getNotes() != null) {
             order.setNotes(request.getNotes());
@@ -132,9 +224,15 @@ public class OrderService {
         }
         
         Order savedOrder = orderRepository.save(order);
+        if (previousStatus != request.getStatus()) {
+            outboxService.append(orderId, new OrderStatusChanged(orderId, order.getUser().getId(),
+                    previousStatus, request.getStatus()));
+        }
+        meterRegistry.counter("shop.orders.status_changes", "status", request.getStatus().name()).increment();
         return convertToResponse(savedOrder);
     }
     
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByStatus(Order.OrderStatus status) {
         return orderRepository.findByStatus(status).stream()
                 .map(this::convertToResponse)
@@ -166,6 +264,7 @@ public class OrderService {
         response.setPaidAt(order.getPaidAt());
         response.setNotes(order.getNotes());
         response.setDiscountAmount(order.getDiscountAmount());
+        response.setPromotionId(order.getPromotion() != null ? order.getPromotion().getId() : null);
         response.setFinalTotal(order.getFinalTotal());
         response.setOrderDetails(detailResponses);
         response.setCreatedAt(order.getCreatedAt());
@@ -182,6 +281,9 @@ public class OrderService {
         response.setId(detail.getId());
         response.setProductId(product.getId());
         response.setProductName(product.getName());
+        response.setVariantId(detail.getVariant() != null ? detail.getVariant().getId() : null);
+        response.setSize(detail.getVariantSize());
+        response.setColor(detail.getVariantColor());
         response.setProductImage(product.getImage());
         response.setQuantity(detail.getQuantity());
         response.setPrice(detail.getPrice());
@@ -0,0 +1,129 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.OutboxEvent;
+import com.example.ecomt.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes outbox events to in-process subscribers ({@code @EventListener} methods on
+ * the event types) in id order. A batch is claimed with SKIP LOCKED and marked published
+ * in one transaction, so delivery is at least once and subscribers should be idempotent.
+ * Each event is published in a transaction of its own: a subscriber that throws, or
+ * leaves its transaction rollback-only, rolls back only its own changes, and the failed
+ * attempt is still recorded so the event is retried on later runs until max-attempts.
+ * Runs on the scheduler from OutboxConfig, never on a request thread.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate eventTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxService outboxService,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Needs a second connection while the batch transaction holds the claim
+        this.eventTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+    }
+
+    /**
+     * Relay batches until the outbox is drained. A batch with failures ends the run, so
+     * failing events wait for the next run instead of burning their attempts in a loop.
+     */
+    public void relayPending() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            // Keep the scheduler alive; the batch rolled back and is claimed again next run
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.claimUnpublished(maxAttempts, PageRequest.of(0, batchSize));
+            int count = 0;
+            for (OutboxEvent row : batch) {
+                if (publish(row)) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        return published != null ? published : 0;
+    }
+
+    public void purgePublished() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+            if (deleted != null && deleted > 0) {
+                log.debug("Purged {} published outbox events", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean publish(OutboxEvent row) {
+        try {
+            Object event = outboxService.deserialize(row);
+            // Commit failures, including UnexpectedRollbackException, count as a failed attempt
+            eventTransactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+            row.setPublishedAt(LocalDateTime.now());
+            meterRegistry.counter("outbox.events.published", "type", row.getEventType()).increment();
+            return true;
+        } catch (Exception e) {
+            row.setAttempts(row.getAttempts() + 1);
+            String error = String.valueOf(e.getMessage());
+            row.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+            meterRegistry.counter("outbox.events.failed", "type", row.getEventType()).increment();
+            if (row.getAttempts() >= maxAttempts) {
+                log.error("Outbox event {} ({}) gave up after {} attempts: {}",
+                        row.getId(), row.getEventType(), row.getAttempts(), error);
+            } else {
+                log.warn("Outbox event {} ({}) failed, attempt {}: {}",
+                        row.getId(), row.getEventType(), row.getAttempts(), error);
+            }
+            return false;
+        }
+    }
+}
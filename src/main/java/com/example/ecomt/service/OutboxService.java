@@ -0,0 +1,61 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.OutboxEvent;
+import com.example.ecomt.event.OrderPlaced;
+import com.example.ecomt.event.OrderStatusChanged;
+import com.example.ecomt.event.ProductChanged;
+import com.example.ecomt.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes domain events to the outbox table. Appending requires the caller's transaction,
+ * so an event exists exactly when the change it describes was committed; publishing is
+ * left to {@link OutboxRelay}, outside the request.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    static final Map<String, Class<?>> EVENT_TYPES = List.of(ProductChanged.class, OrderPlaced.class,
+                    OrderStatusChanged.class).stream()
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long aggregateId, Object event) {
+        String eventType = event.getClass().getSimpleName();
+        if (!EVENT_TYPES.containsKey(eventType)) {
+            throw new IllegalArgumentException("Unregistered outbox event type: " + eventType);
+        }
+
+        OutboxEvent row = new OutboxEvent();
+        row.setEventType(eventType);
+        row.setAggregateId(aggregateId);
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType, e);
+        }
+        outboxEventRepository.save(row);
+    }
+
+    Object deserialize(OutboxEvent row) throws JsonProcessingException {
+        Class<?> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown outbox event type: " + row.getEventType());
+        }
+        return objectMapper.readValue(row.getPayload(), type);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.ecomt.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt verification on a small bounded pool so that bursts of logins queue up
+ * (or are rejected) instead of occupying every servlet thread with hashing work.
+ * Hashes produced with a different cost than the configured one are re-encoded on
+ * the same pool after a successful match.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordVerificationService implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.login.max-concurrency:0}")
+    private int maxConcurrency;
+
+    @Value("${security.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${security.login.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        int threads = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Exposes active threads and queue depth, i.e. how saturated login hashing is
+        new ExecutorServiceMetrics(executor, "password-verify", List.of()).bindTo(registry);
+    }
+
+    /**
+     * Check a raw password against a stored hash.
+     *
+     * @return the result, carrying a re-encoded hash when the stored one should be replaced
+     */
+    public Verification verify(String rawPassword, String encodedPassword) {
+        Future<Verification> future;
+        try {
+            future = executor.submit(() -> {
+                if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                    return new Verification(false, null);
+                }
+                String upgradedHash = needsRehash(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+                return new Verification(true, upgradedHash);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password verification queue is full, rejecting request");
+            throw new RuntimeException("Too many login attempts in progress, please try again later");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RuntimeException("Password verification timed out, please try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password verification interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private boolean needsRehash(String encodedPassword) {
+        if (passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return true;
+        }
+        // BCrypt hashes look like $2a$10$..., where 10 is the cost factor
+        if (encodedPassword.length() > 7 && encodedPassword.charAt(0) == '$' && encodedPassword.charAt(6) == '$') {
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) != bcryptStrength;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public static final class Verification {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        Verification(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.CartItem;
+import com.example.ecomt.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The one place cart and order amounts are computed: effective unit prices, line totals,
+ * subtotal, shipping and discount, in a single pass over the cart. Shipping and discount
+ * are decided here, never taken from the client; the discount is the best promotion the
+ * cart qualifies for, at most one per order.
+ */
+@Service
+public class PricingEngine {
+
+    private final BigDecimal shippingFee;
+    private final BigDecimal freeShippingThreshold;
+    private final PromotionService promotionService;
+
+    public PricingEngine(@Value("${pricing.shipping.flat-fee:30000}") BigDecimal shippingFee,
+            @Value("${pricing.shipping.free-threshold:500000}") BigDecimal freeShippingThreshold,
+            PromotionService promotionService) {
+        this.shippingFee = shippingFee;
+        this.freeShippingThreshold = freeShippingThreshold;
+        this.promotionService = promotionService;
+    }
+
+    /**
+     * The discount price when it is set and below the list price, otherwise the list price.
+     */
+    public static BigDecimal effectivePrice(BigDecimal price, BigDecimal discountPrice) {
+        return discountPrice != null && discountPrice.compareTo(price) < 0 ? discountPrice : price;
+    }
+
+    public static BigDecimal effectivePrice(Product product) {
+        return effectivePrice(product.getPrice(), product.getDiscountPrice());
+    }
+
+    public Quote quote(List<CartItem> items) {
+        return quote(items, null);
+    }
+
+    /**
+     * Price a cart, with the coupon code the customer entered if any. Unit prices are
+     * resolved once per product, however many variant lines share it. Shipping is based on
+     * the subtotal before discount.
+     */
+    public Quote quote(List<CartItem> items, String couponCode) {
+        Map<Long, BigDecimal> unitPrices = new HashMap<>();
+        List<PricedLine> lines = new ArrayList<>(items.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int totalItems = 0;
+        for (CartItem item : items) {
+            Product product = item.getProduct();
+            BigDecimal unitPrice = unitPrices.computeIfAbsent(product.getId(), id -> effectivePrice(product));
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
+            lines.add(new PricedLine(item, unitPrice, lineTotal));
+            subtotal = subtotal.add(lineTotal);
+            totalItems += item.getQuantity();
+        }
+
+        BigDecimal shipping = shippingFor(subtotal);
+        List<PromotionIndex.Match> promotions = items.isEmpty() && couponCode == null ? List.of()
+                : promotionService.evaluate(lines, subtotal, couponCode);
+        return new Quote(lines, totalItems, subtotal, shipping, promotions,
+                promotions.isEmpty() ? null : promotions.get(0));
+    }
+
+    BigDecimal shippingFor(BigDecimal subtotal) {
+        if (subtotal.signum() == 0 || subtotal.compareTo(freeShippingThreshold) >= 0) {
+            return BigDecimal.ZERO;
+        }
+        return shippingFee;
+    }
+
+    public static final class PricedLine {
+        private final CartItem item;
+        private final BigDecimal unitPrice;
+        private final BigDecimal lineTotal;
+
+        PricedLine(CartItem item, BigDecimal unitPrice, BigDecimal lineTotal) {
+            this.item = item;
+            this.unitPrice = unitPrice;
+            this.lineTotal = lineTotal;
+        }
+
+        public CartItem getItem() {
+            return item;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public BigDecimal getLineTotal() {
+            return lineTotal;
+        }
+    }
+
+    public static final class Quote {
+        private final List<PricedLine> lines;
+        private final int totalItems;
+        private final BigDecimal subtotal;
+        private final BigDecimal shippingFee;
+        private final List<PromotionIndex.Match> promotions;
+        private final PromotionIndex.Match promotion;
+        private final BigDecimal discountAmount;
+        private final BigDecimal total;
+
+        Quote(List<PricedLine> lines, int totalItems, BigDecimal subtotal, BigDecimal shippingFee,
+                List<PromotionIndex.Match> promotions, PromotionIndex.Match promotion) {
+            this.lines = lines;
+            this.totalItems = totalItems;
+            this.subtotal = subtotal;
+            this.shippingFee = shippingFee;
+            this.promotions = promotions;
+            this.promotion = promotion;
+            this.discountAmount = promotion != null ? promotion.getDiscount() : BigDecimal.ZERO;
+            this.total = subtotal.add(shippingFee).subtract(discountAmount);
+        }
+
+        /**
+         * The same quote with another of its promotions applied, or none; used when the best
+         * one could not be claimed at checkout.
+         */
+        public Quote withPromotion(PromotionIndex.Match applied) {
+            return applied == promotion ? this
+                    : new Quote(lines, totalItems, subtotal, shippingFee, promotions, applied);
+        }
+
+        public List<PricedLine> getLines() {
+            return lines;
+        }
+
+        public int getTotalItems() {
+            return totalItems;
+        }
+
+        public BigDecimal getSubtotal() {
+            return subtotal;
+        }
+
+        public BigDecimal getShippingFee() {
+            return shippingFee;
+        }
+
+        /**
+         * Every promotion the cart qualifies for, best first.
+         */
+        public List<PromotionIndex.Match> getPromotions() {
+            return promotions;
+        }
+
+        /**
+         * The promotion the discount comes from, or null.
+         */
+        public PromotionIndex.Match getPromotion() {
+            return promotion;
+        }
+
+        public BigDecimal getDiscountAmount() {
+            return discountAmount;
+        }
+
+        public BigDecimal getTotal() {
+            return total;
+        }
+    }
+}
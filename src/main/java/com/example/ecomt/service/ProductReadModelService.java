@@ -0,0 +1,199 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ProductBatchResponse;
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.ProductReadModel;
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.repository.ProductReadModelRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains product_read_model, one denormalized row per product with the serialized
+ * ProductResponse, and serves public product reads from it. Writers call refresh or
+ * remove inside their own transaction, so the read model commits or rolls back together
+ * with the product, variant, category or brand change.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ProductReadModelService {
+
+    public static final int MAX_BATCH_IDS = 500;
+
+    private final ProductReadModelRepository readModelRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public ProductResponse getActiveProduct(Long productId) {
+        return readModelRepository.findByProductIdAndIsActiveTrue(productId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new RuntimeException("Active product not found with id: " + productId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getActiveProducts() {
+        return toResponses(readModelRepository.findByIsActiveTrueOrderByProductId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getActiveProductsByCategory(Long categoryId) {
+        return toResponses(readModelRepository.findByCategoryIdAndIsActiveTrueOrderByProductId(categoryId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getActiveProductsByBrand(Long brandId) {
+        return toResponses(readModelRepository.findByBrandIdAndIsActiveTrueOrderByProductId(brandId));
+    }
+
+    /**
+     * Primary-key lookups for many products in one IN query, in request order with
+     * duplicates collapsed.
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getActiveProductsByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " product IDs per request");
+        }
+        if (requested.isEmpty()) {
+            return new ProductBatchResponse(new ArrayList<>(), new ArrayList<>());
+        }
+
+        Map<Long, ProductReadModel> found = readModelRepository.findByProductIdInAndIsActiveTrue(requested).stream()
+                .collect(Collectors.toMap(ProductReadModel::getProductId, Function.identity()));
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ProductReadModel row = found.get(id);
+            if (row != null) {
+                products.add(toResponse(row));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchResponse(products, missingIds);
+    }
+
+    public void refresh(Product product) {
+        refresh(product, product.getVariants());
+    }
+
+    /**
+     * Rebuild the row for a product. Pending changes are flushed first so the document
+     * carries the timestamps the database will hold.
+     */
+    public void refresh(Product product, List<ProductVariant> variants) {
+        productRepository.flush();
+        readModelRepository.save(toReadModel(product, variants));
+    }
+
+    /**
+     * Rebuild the row from the latest committed product and variants, read with locking
+     * reads. Under REPEATABLE READ a plain read returns this transaction's snapshot, which
+     * misses stock another checkout committed meanwhile; the caller holds the product's row
+     * lock so that checkout cannot commit between these reads and this commit.
+     */
+    public void refreshById(Long productId) {
+        productRepository.findByIdForUpdate(productId)
+                .ifPresent(product -> refresh(product, variantRepository.findByProductIdForShare(productId)));
+    }
+
+    public void refreshByCategory(Long categoryId) {
+        productRepository.findByCategoryId(categoryId).forEach(this::refresh);
+    }
+
+    public void refreshByBrand(Long brandId) {
+        productRepository.findByBrandId(brandId).forEach(this::refresh);
+    }
+
+    public void remove(Long productId) {
+        readModelRepository.deleteById(productId);
+    }
+
+    /**
+     * Backfill after the table is created, or after products were changed outside the
+     * services. Compares row counts only; a full rebuild is forced by emptying the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        long products = productRepository.count();
+        if (readModelRepository.count() == products) {
+            return;
+        }
+        log.info("Rebuilding product read model for {} products", products);
+        readModelRepository.deleteAllInBatch();
+        productRepository.findAll().forEach(product ->
+                readModelRepository.save(toReadModel(product, product.getVariants())));
+    }
+
+    ProductReadModel toReadModel(Product product, List<ProductVariant> variants) {
+        ProductResponse document = ProductService.toResponse(product, variants);
+
+        ProductReadModel row = new ProductReadModel();
+        row.setProductId(product.getId());
+        row.setName(product.getName());
+        row.setIsActive(Boolean.TRUE.equals(product.getIsActive()));
+        row.setEffectivePrice(PricingEngine.effectivePrice(product));
+        if (document.getCategory() != null) {
+            row.setCategoryId(document.getCategory().getId());
+            row.setCategoryName(document.getCategory().getName());
+        }
+        if (document.getBrand() != null) {
+            row.setBrandId(document.getBrand().getId());
+            row.setBrandName(document.getBrand().getName());
+        }
+
+        if (variants != null) {
+            IntSummaryStatistics stock = variants.stream()
+                    .filter(variant -> Boolean.TRUE.equals(variant.getIsActive()))
+                    .mapToInt(variant -> variant.getStockQuantity() != null ? variant.getStockQuantity() : 0)
+                    .summaryStatistics();
+            if (stock.getCount() > 0) {
+                row.setMinVariantStock(stock.getMin());
+                row.setMaxVariantStock(stock.getMax());
+            }
+        }
+
+        try {
+            row.setDocument(objectMapper.writeValueAsString(document));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product " + product.getId(), e);
+        }
+        return row;
+    }
+
+    private List<ProductResponse> toResponses(List<ProductReadModel> rows) {
+        return rows.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    private ProductResponse toResponse(ProductReadModel row) {
+        try {
+            return objectMapper.readValue(row.getDocument(), ProductResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt read model document for product " + row.getProductId(), e);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.example.ecomt.service;
 
 import com.example.ecomt.dto.ProductRequest;
 import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.dto.ProductSummaryResponse;
 import com.example.ecomt.dto.ProductVariantResponse;
 import com.example.ecomt.entity.Brand;
 import com.example.ecomt.entity.Category;
 import com.example.ecomt.entity.Product;
 import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.event.ProductChanged;
 import com.example.ecomt.repository.BrandRepository;
 import com.example.ecomt.repository.CategoryRepository;
 import com.example.ecomt.repository.ProductRepository;
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,49 +29,59 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final BrandRepository brandRepository;
+    private final ProductReadModelService productReadModelService;
+    private final OutboxService outboxService;
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
         return productRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> getAllActiveProducts() {
         return productRepository.findByIsActiveTrue().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
         return convertToResponse(product);
     }
 
+    @Transactional(readOnly = true)
     public ProductResponse getActiveProductById(Long id) {
         Product product = productRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new RuntimeException("Active product not found with id: " + id));
         return convertToResponse(product);
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByCategory(Long categoryId) {
         return productRepository.findByCategoryIdAndIsActiveTrue(categoryId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByBrand(Long brandId) {
         return productRepository.findByBrandIdAndIsActiveTrue(brandId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> searchProducts(String name) {
         return productRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(name).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsWithFilters(Long categoryId, Long brandId,
             BigDecimal minPrice, BigDecimal maxPrice, String name) {
         return productRepository.findProductsWithFilters(categoryId, brandId, minPrice, maxPrice, name).stream()
@@ -76,6 +89,28 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductSummaryResponse> getActiveProductSummaries(Set<String> fields) {
+        return retain(productRepository.findActiveSummaries(), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummaryResponse> getProductSummariesByCategory(Long categoryId, Set<String> fields) {
+        return retain(productRepository.findActiveSummariesByCategoryId(categoryId), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummaryResponse> getProductSummariesByBrand(Long brandId, Set<String> fields) {
+        return retain(productRepository.findActiveSummariesByBrandId(brandId), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummaryResponse> getProductSummariesWithFilters(Long categoryId, Long brandId,
+            BigDecimal minPrice, BigDecimal maxPrice, String name, Set<String> fields) {
+        return retain(productRepository.findSummariesWithFilters(categoryId, brandId, minPrice, maxPrice, name),
+                fields);
+    }
+
     public ProductResponse createProduct(ProductRequest request) {
         if (productRepository.existsByName(request.getName())) {
             throw new RuntimeException("Product name already exists: " + request.getName());
@@ -85,6 +120,9 @@ public class ProductService {
         mapRequestToEntity(request, product);
 
         Product savedProduct = productRepository.save(product);
+        productReadModelService.refresh(savedProduct);
+        outboxService.append(savedProduct.getId(),
+                new ProductChanged(savedProduct.getId(), ProductChanged.Change.CREATED));
         return convertToResponse(savedProduct);
     }
 
@@ -98,6 +136,8 @@ public class ProductService {
 
         mapRequestToEntity(request, product);
         Product savedProduct = productRepository.save(product);
+        productReadModelService.refresh(savedProduct);
+        outboxService.append(id, new ProductChanged(id, ProductChanged.Change.UPDATED));
         return convertToResponse(savedProduct);
     }
 
@@ -105,6 +145,8 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
         productRepository.delete(product);
+        productReadModelService.remove(id);
+        outboxService.append(id, new ProductChanged(id, ProductChanged.Change.DELETED));
     }
 
     private void mapRequestToEntity(ProductRequest request, Product product) {
@@ -134,7 +176,20 @@ public class ProductService {
         }
     }
 
+    private static List<ProductSummaryResponse> retain(List<ProductSummaryResponse> summaries, Set<String> fields) {
+        summaries.forEach(summary -> summary.retain(fields));
+        return summaries;
+    }
+
     private ProductResponse convertToResponse(Product product) {
+        return toResponse(product, product.getVariants());
+    }
+
+    /**
+     * Also used by {@link ProductReadModelService} to build the stored document, with the
+     * variants passed in so freshly written ones are included.
+     */
+    static ProductResponse toResponse(Product product, List<ProductVariant> variants) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
         response.setName(product.getName());
@@ -160,9 +215,9 @@ public class ProductService {
                     product.getBrand().getName()));
         }
 
-        if (product.getVariants() != null) {
-            List<ProductVariantResponse> variantResponses = product.getVariants().stream()
-                    .map(this::convertVariantToResponse)
+        if (variants != null) {
+            List<ProductVariantResponse> variantResponses = variants.stream()
+                    .map(ProductService::convertVariantToResponse)
                     .collect(Collectors.toList());
             response.setVariants(variantResponses);
         }
@@ -170,7 +225,7 @@ public class ProductService {
         return response;
     }
 
-    private ProductVariantResponse convertVariantToResponse(ProductVariant variant) {
+    private static ProductVariantResponse convertVariantToResponse(ProductVariant variant) {
         ProductVariantResponse response = new ProductVariantResponse();
         response.setId(variant.getId());
         response.setProductId(variant.getProduct().getId());
@@ -4,6 +4,7 @@ import com.example.ecomt.dto.ProductVariantRequest;
 import com.example.ecomt.dto.ProductVariantResponse;
 import com.example.ecomt.entity.Product;
 import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.event.ProductChanged;
 import com.example.ecomt.repository.ProductRepository;
 import com.example.ecomt.repository.ProductVariantRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,31 +21,38 @@ public class ProductVariantService {
     
     private final ProductVariantRepository variantRepository;
     private final ProductRepository productRepository;
+    private final ProductReadModelService productReadModelService;
+    private final OutboxService outboxService;
     
+    @Transactional(readOnly = true)
     public List<ProductVariantResponse> getAllVariants() {
         return variantRepository.findAll().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductVariantResponse> getAllActiveVariants() {
         return variantRepository.findByIsActiveTrue().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public ProductVariantResponse getVariantById(Long id) {
         ProductVariant variant = variantRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product variant not found with id: " + id));
         return convertToResponse(variant);
     }
     
+    @Transactional(readOnly = true)
     public List<ProductVariantResponse> getVariantsByProduct(Long productId) {
         return variantRepository.findByProductId(productId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductVariantResponse> getActiveVariantsByProduct(Long productId) {
         return variantRepository.findByProductIdAndIsActiveTrue(productId).stream()
                 .map(this::convertToResponse)
@@ -65,6 +73,7 @@ public class ProductVariantService {
         mapRequestToEntity(request, variant, product);
         
         ProductVariant savedVariant = variantRepository.save(variant);
+        refreshReadModel(product);
         return convertToResponse(savedVariant);
     }
     
@@ -84,8 +93,13 @@ public class ProductVariantService {
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + request.getProductId()));
         
+        Product previousProduct = variant.getProduct();
         mapRequestToEntity(request, variant, product);
         ProductVariant savedVariant = variantRepository.save(variant);
+        refreshReadModel(product);
+        if (!previousProduct.getId().equals(product.getId())) {
+            refreshReadModel(previousProduct);
+        }
         return convertToResponse(savedVariant);
     }
     
@@ -93,6 +107,14 @@ public class ProductVariantService {
         ProductVariant variant = variantRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product variant not found with id: " + id));
         variantRepository.delete(variant);
+        refreshReadModel(variant.getProduct());
+    }
+    
+    private void refreshReadModel(Product product) {
+        // Queried rather than taken from product.getVariants(), which may predate this write
+        productReadModelService.refresh(product, variantRepository.findByProductId(product.getId()));
+        outboxService.append(product.getId(),
+                new ProductChanged(product.getId(), ProductChanged.Change.VARIANTS_CHANGED));
     }
     
     private void mapRequestToEntity(ProductVariantRequest request, ProductVariant variant, Product product) {
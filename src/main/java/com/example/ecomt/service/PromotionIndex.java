@@ -0,0 +1,285 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.Promotion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active promotions compiled into immutable rules bucketed by what they apply to, so a cart
+ * is only checked against the rules for the categories and brands it contains, plus the
+ * storewide ones and the coupon it names. Instances are replaced, never edited, when the
+ * promotions change; only the set of used-up promotions is shared state.
+ */
+public final class PromotionIndex {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparing(Match::getDiscount).reversed()
+            .thenComparing(Match::getPromotionId);
+
+    private final List<Rule> storewide;
+    private final Map<Long, List<Rule>> byCategory;
+    private final Map<Long, List<Rule>> byBrand;
+    private final Map<String, Rule> byCode;
+    private final Set<Long> exhausted = ConcurrentHashMap.newKeySet();
+
+    private PromotionIndex(List<Rule> storewide, Map<Long, List<Rule>> byCategory, Map<Long, List<Rule>> byBrand,
+            Map<String, Rule> byCode) {
+        this.storewide = storewide;
+        this.byCategory = byCategory;
+        this.byBrand = byBrand;
+        this.byCode = byCode;
+    }
+
+    /**
+     * Compile active promotions. Coupons are only reachable by code; automatic promotions
+     * scoped to a category (with or without a brand) are filed under the category, those
+     * scoped to a brand alone under the brand.
+     */
+    public static PromotionIndex compile(List<Promotion> promotions) {
+        List<Rule> storewide = new ArrayList<>();
+        Map<Long, List<Rule>> byCategory = new HashMap<>();
+        Map<Long, List<Rule>> byBrand = new HashMap<>();
+        Map<String, Rule> byCode = new HashMap<>();
+        List<Long> usedUp = new ArrayList<>();
+        for (Promotion promotion : promotions) {
+            if (!Boolean.TRUE.equals(promotion.getIsActive())) {
+                continue;
+            }
+            Rule rule = new Rule(promotion);
+            if (rule.limited && promotion.getUsedCount() != null
+                    && promotion.getUsedCount() >= promotion.getUsageLimit()) {
+                usedUp.add(rule.id);
+            }
+            if (rule.code != null) {
+                byCode.put(rule.code, rule);
+            } else if (rule.categoryId != null) {
+                byCategory.computeIfAbsent(rule.categoryId, id -> new ArrayList<>()).add(rule);
+            } else if (rule.brandId != null) {
+                byBrand.computeIfAbsent(rule.brandId, id -> new ArrayList<>()).add(rule);
+            } else {
+                storewide.add(rule);
+            }
+        }
+        PromotionIndex index = new PromotionIndex(storewide, byCategory, byBrand, byCode);
+        index.exhausted.addAll(usedUp);
+        return index;
+    }
+
+    public static String normalizeCode(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Promotions that apply to the priced lines, best discount first. The lines are walked
+     * once to total them per category, per brand and per category and brand; each candidate
+     * rule is then priced from those totals. A coupon that is unknown or does not apply
+     * throws, so the customer learns why it was not taken.
+     */
+    public List<Match> evaluate(List<PricingEngine.PricedLine> lines, BigDecimal subtotal, String couponCode,
+            LocalDateTime now) {
+        Totals totals = new Totals();
+        for (PricingEngine.PricedLine line : lines) {
+            totals.add(line.getItem().getProduct(), line.getLineTotal());
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Rule rule : storewide) {
+            addIfApplicable(matches, rule, subtotal, now);
+        }
+        for (Long categoryId : totals.byCategory.keySet()) {
+            for (Rule rule : byCategory.getOrDefault(categoryId, List.of())) {
+                addIfApplicable(matches, rule, totals.eligible(rule, subtotal), now);
+            }
+        }
+        for (Long brandId : totals.byBrand.keySet()) {
+            for (Rule rule : byBrand.getOrDefault(brandId, List.of())) {
+                addIfApplicable(matches, rule, totals.eligible(rule, subtotal), now);
+            }
+        }
+
+        String code = normalizeCode(couponCode);
+        if (code != null) {
+            Rule coupon = byCode.get(code);
+            if (coupon == null || !coupon.isLive(now)) {
+                throw new IllegalArgumentException("Invalid coupon code: " + code);
+            }
+            if (exhausted.contains(coupon.id)) {
+                throw new IllegalArgumentException("Coupon " + code + " has reached its usage limit");
+            }
+            Match match = coupon.apply(totals.eligible(coupon, subtotal));
+            if (match == null) {
+                throw new IllegalArgumentException("Coupon " + code + " does not apply to this cart");
+            }
+            matches.add(match);
+        }
+
+        matches.sort(BEST_FIRST);
+        return matches;
+    }
+
+    /**
+     * Stop offering a promotion whose usage limit was reached; checked before the database
+     * is asked again.
+     */
+    public void markExhausted(Long promotionId) {
+        exhausted.add(promotionId);
+    }
+
+    public int size() {
+        return storewide.size() + byCode.size()
+                + byCategory.values().stream().mapToInt(List::size).sum()
+                + byBrand.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void addIfApplicable(List<Match> matches, Rule rule, BigDecimal eligible, LocalDateTime now) {
+        if (!rule.isLive(now) || exhausted.contains(rule.id)) {
+            return;
+        }
+        Match match = rule.apply(eligible);
+        if (match != null) {
+            matches.add(match);
+        }
+    }
+
+    private static final class Totals {
+        private final Map<Long, BigDecimal> byCategory = new HashMap<>();
+        private final Map<Long, BigDecimal> byBrand = new HashMap<>();
+        private final Map<Long, Map<Long, BigDecimal>> byCategoryAndBrand = new HashMap<>();
+
+        void add(Product product, BigDecimal lineTotal) {
+            Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+            Long brandId = product.getBrand() != null ? product.getBrand().getId() : null;
+            if (categoryId != null) {
+                byCategory.merge(categoryId, lineTotal, BigDecimal::add);
+            }
+            if (brandId != null) {
+                byBrand.merge(brandId, lineTotal, BigDecimal::add);
+            }
+            if (categoryId != null && brandId != null) {
+                byCategoryAndBrand.computeIfAbsent(categoryId, id -> new HashMap<>())
+                        .merge(brandId, lineTotal, BigDecimal::add);
+            }
+        }
+
+        BigDecimal eligible(Rule rule, BigDecimal subtotal) {
+            if (rule.categoryId != null && rule.brandId != null) {
+                return byCategoryAndBrand.getOrDefault(rule.categoryId, Map.of())
+                        .getOrDefault(rule.brandId, BigDecimal.ZERO);
+            }
+            if (rule.categoryId != null) {
+                return byCategory.getOrDefault(rule.categoryId, BigDecimal.ZERO);
+            }
+            if (rule.brandId != null) {
+                return byBrand.getOrDefault(rule.brandId, BigDecimal.ZERO);
+            }
+            return subtotal;
+        }
+    }
+
+    /**
+     * A promotion reduced to what evaluation needs, with the percentage rate worked out
+     * up front.
+     */
+    private static final class Rule {
+        private final Long id;
+        private final String code;
+        private final BigDecimal rate;
+        private final BigDecimal fixedAmount;
+        private final BigDecimal maxDiscount;
+        private final BigDecimal minSubtotal;
+        private final Long categoryId;
+        private final Long brandId;
+        private final boolean limited;
+        private final LocalDateTime startsAt;
+        private final LocalDateTime endsAt;
+
+        Rule(Promotion promotion) {
+            boolean percentage = promotion.getDiscountType() == Promotion.DiscountType.PERCENTAGE;
+            this.id = promotion.getId();
+            this.code = normalizeCode(promotion.getCode());
+            this.rate = percentage ? promotion.getDiscountValue().divide(HUNDRED) : null;
+            this.fixedAmount = percentage ? null : promotion.getDiscountValue();
+            this.maxDiscount = promotion.getMaxDiscount();
+            this.minSubtotal = promotion.getMinSubtotal();
+            this.categoryId = promotion.getCategoryId();
+            this.brandId = promotion.getBrandId();
+            this.limited = promotion.getUsageLimit() != null;
+            this.startsAt = promotion.getStartsAt();
+            this.endsAt = promotion.getEndsAt();
+        }
+
+        boolean isLive(LocalDateTime now) {
+            return (startsAt == null || !now.isBefore(startsAt)) && (endsAt == null || now.isBefore(endsAt));
+        }
+
+        /**
+         * The discount on the eligible amount, never more than that amount, or null when the
+         * promotion does not apply.
+         */
+        Match apply(BigDecimal eligible) {
+            if (eligible.signum() <= 0 || (minSubtotal != null && eligible.compareTo(minSubtotal) < 0)) {
+                return null;
+            }
+            BigDecimal discount = rate != null
+                    ? eligible.multiply(rate).setScale(2, RoundingMode.HALF_UP)
+                    : fixedAmount;
+            if (maxDiscount != null) {
+                discount = discount.min(maxDiscount);
+            }
+            discount = discount.min(eligible);
+            return discount.signum() > 0 ? new Match(id, code, discount, limited) : null;
+        }
+    }
+
+    public static final class Match {
+        private final Long promotionId;
+        private final String code;
+        private final BigDecimal discount;
+        private final boolean limited;
+
+        Match(Long promotionId, String code, BigDecimal discount, boolean limited) {
+            this.promotionId = promotionId;
+            this.code = code;
+            this.discount = discount;
+            this.limited = limited;
+        }
+
+        public Long getPromotionId() {
+            return promotionId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public BigDecimal getDiscount() {
+            return discount;
+        }
+
+        /**
+         * Whether the promotion has a usage limit, so applying it must claim a use.
+         */
+        public boolean isLimited() {
+            return limited;
+        }
+
+        public boolean isCoupon() {
+            return code != null;
+        }
+    }
+}
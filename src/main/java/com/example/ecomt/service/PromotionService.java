@@ -0,0 +1,185 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.PromotionRequest;
+import com.example.ecomt.entity.Promotion;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.PromotionRepository;
+import com.example.ecomt.repository.UpdateStamp;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Promotions and coupon codes. Carts are evaluated against a {@link PromotionIndex} compiled
+ * from the active promotions, so pricing never queries them; the index is rebuilt after admin
+ * changes here and, for changes made through other instances, when the table's update stamp
+ * moves.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionService {
+    
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    
+    private final PromotionRepository promotionRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    
+    private volatile PromotionIndex index = PromotionIndex.compile(List.of());
+    private volatile long loadedCount = -1;
+    private volatile LocalDateTime loadedLastUpdated;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        // Stamp first: a change landing during the load is picked up by the next refresh
+        UpdateStamp stamp = promotionRepository.findUpdateStamp();
+        index = PromotionIndex.compile(promotionRepository.findByIsActiveTrue());
+        loadedCount = stamp.getCount();
+        loadedLastUpdated = stamp.getLastUpdated();
+        log.debug("Compiled {} active promotions", index.size());
+    }
+    
+    public void refreshIfChanged() {
+        try {
+            UpdateStamp stamp = promotionRepository.findUpdateStamp();
+            if (stamp.getCount() != loadedCount || !Objects.equals(stamp.getLastUpdated(), loadedLastUpdated)) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduler alive and serve the current index until the next run
+            log.warn("Promotion refresh failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Promotions that apply to the priced lines, best first; see {@link PromotionIndex#evaluate}.
+     */
+    public List<PromotionIndex.Match> evaluate(List<PricingEngine.PricedLine> lines, BigDecimal subtotal,
+            String couponCode) {
+        return index.evaluate(lines, subtotal, couponCode, LocalDateTime.now());
+    }
+    
+    /**
+     * Pick the promotion an order gets: the best match whose use can be counted. Promotions
+     * without a usage limit are taken as is; limited ones take a use with one conditional
+     * update, which holds their row lock until the order commits. A limited promotion that
+     * is used up is dropped from the index and the next match is tried, except a coupon
+     * the customer entered, which fails the checkout.
+     */
+    @Transactional
+    public PromotionIndex.Match claim(List<PromotionIndex.Match> matches) {
+        for (PromotionIndex.Match match : matches) {
+            if (!match.isLimited() || promotionRepository.claimUse(match.getPromotionId()) == 1) {
+                return match;
+            }
+            index.markExhausted(match.getPromotionId());
+            if (match.isCoupon()) {
+                throw new IllegalArgumentException("Coupon " + match.getCode() + " has reached its usage limit");
+            }
+        }
+        return null;
+    }
+    
+    public Promotion getReference(Long id) {
+        return promotionRepository.getReferenceById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Promotion> getAllPromotions() {
+        return promotionRepository.findAll();
+    }
+    
+    @Transactional(readOnly = true)
+    public Promotion getPromotionById(Long id) {
+        return promotionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Promotion not found with id: " + id));
+    }
+    
+    @Transactional
+    public Promotion createPromotion(PromotionRequest request) {
+        Promotion promotion = new Promotion();
+        apply(promotion, request);
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        reloadAfterCommit();
+        return savedPromotion;
+    }
+    
+    @Transactional
+    public Promotion updatePromotion(Long id, PromotionRequest request) {
+        Promotion promotion = getPromotionById(id);
+        apply(promotion, request);
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        reloadAfterCommit();
+        return savedPromotion;
+    }
+    
+    @Transactional
+    public void deletePromotion(Long id) {
+        Promotion promotion = getPromotionById(id);
+        // Orders keep their discount amount; their promotion_id is set to null
+        promotionRepository.delete(promotion);
+        reloadAfterCommit();
+    }
+    
+    private void apply(Promotion promotion, PromotionRequest request) {
+        String code = PromotionIndex.normalizeCode(request.getCode());
+        if (code != null && !code.equals(promotion.getCode()) && promotionRepository.existsByCode(code)) {
+            throw new RuntimeException("Promotion code already exists: " + code);
+        }
+        if (request.getDiscountType() == Promotion.DiscountType.PERCENTAGE
+                && request.getDiscountValue().compareTo(HUNDRED) > 0) {
+            throw new IllegalArgumentException("Percentage discount cannot exceed 100");
+        }
+        if (request.getStartsAt() != null && request.getEndsAt() != null
+                && !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new IllegalArgumentException("Promotion must end after it starts");
+        }
+        if (request.getCategoryId() != null && !categoryRepository.existsById(request.getCategoryId())) {
+            throw new RuntimeException("Category not found with id: " + request.getCategoryId());
+        }
+        if (request.getBrandId() != null && !brandRepository.existsById(request.getBrandId())) {
+            throw new RuntimeException("Brand not found with id: " + request.getBrandId());
+        }
+        
+        promotion.setCode(code);
+        promotion.setName(request.getName());
+        promotion.setDiscountType(request.getDiscountType());
+        promotion.setDiscountValue(request.getDiscountValue());
+        promotion.setMaxDiscount(request.getMaxDiscount());
+        promotion.setMinSubtotal(request.getMinSubtotal());
+        promotion.setCategoryId(request.getCategoryId());
+        promotion.setBrandId(request.getBrandId());
+        promotion.setUsageLimit(request.getUsageLimit());
+        promotion.setStartsAt(request.getStartsAt());
+        promotion.setEndsAt(request.getEndsAt());
+        promotion.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+    }
+    
+    /**
+     * Recompile once the change is committed, so the index never holds uncommitted rules.
+     */
+    private void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+}
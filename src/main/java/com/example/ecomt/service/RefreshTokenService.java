@@ -0,0 +1,130 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.RefreshToken;
+import com.example.ecomt.entity.User;
+import com.example.ecomt.repository.RefreshTokenRepository;
+import com.example.ecomt.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues opaque refresh tokens and rotates them on every use. Only a SHA-256 hash of
+ * each token is stored, so refreshing never touches BCrypt. Presenting a token that
+ * was already rotated or revoked is treated as theft and revokes every token of that user.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int CLEANUP_INTERVAL = 256;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final AtomicInteger issuedSinceCleanup = new AtomicInteger();
+
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setExpiresAt(LocalDateTime.now().plusNanos(jwtUtil.getRefreshExpiration() * 1_000_000L));
+        refreshTokenRepository.save(refreshToken);
+
+        if (issuedSinceCleanup.incrementAndGet() >= CLEANUP_INTERVAL) {
+            issuedSinceCleanup.set(0);
+            int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+        return rawToken;
+    }
+
+    /**
+     * Exchange a refresh token for a new one.
+     *
+     * @return the rotation result, or null when the token is unknown, expired or already used
+     */
+    @Transactional
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken)).orElse(null);
+        if (current == null) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            log.warn("Reuse of revoked refresh token detected for user {}, revoking all sessions",
+                    current.getUser().getId());
+            refreshTokenRepository.revokeAllForUser(current.getUser().getId(), now);
+            return null;
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            return null;
+        }
+
+        current.setRevokedAt(now);
+        refreshTokenRepository.save(current);
+        User user = current.getUser();
+        return new Rotation(user, issue(user));
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            if (token.getRevokedAt() == null) {
+                token.setRevokedAt(LocalDateTime.now());
+                refreshTokenRepository.save(token);
+            }
+        });
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class Rotation {
+        private final User user;
+        private final String refreshToken;
+
+        Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
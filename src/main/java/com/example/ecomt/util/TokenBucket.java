@@ -0,0 +1,54 @@
+package com.example.ecomt.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole
+ * state is a single "theoretical arrival time" updated with compare-and-set, so
+ * concurrent requests never block and no object is allocated per request.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param capacity        maximum burst size
+     * @param refillPerMinute tokens added back per minute
+     */
+    public TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Token bucket capacity and refill rate must be positive");
+        }
+        this.emissionIntervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstToleranceNanos = (capacity - 1) * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long arrival = Math.max(current, nowNanos);
+            long allowedAt = arrival - burstToleranceNanos;
+            if (nowNanos < allowedAt) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a freshly created one and can be discarded.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ecomt.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory denylist for revoked access tokens, keyed by JWT id. A bloom filter
+ * answers the common "not revoked" case without touching the exact set; entries are
+ * dropped by a one-minute expiry wheel once the token they block has expired anyway,
+ * and the filter is rebuilt from the remaining entries.
+ */
+@Component
+public class TokenDenylist implements MeterBinder {
+
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 4;
+    private static final long SLOT_MILLIS = 60_000L;
+    private static final int WHEEL_SLOTS = 64;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final AtomicReference<BloomFilter> bloom = new AtomicReference<>(new BloomFilter());
+    private final Queue<String>[] wheel;
+    private long lastTickSlot;
+
+    @SuppressWarnings("unchecked")
+    public TokenDenylist() {
+        wheel = new Queue[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        lastTickSlot = System.currentTimeMillis() / SLOT_MILLIS;
+    }
+
+    /**
+     * Deny a token until its own expiry time.
+     */
+    public synchronized void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, expiresAtMillis);
+        wheel[(int) Math.floorMod(expiresAtMillis / SLOT_MILLIS, (long) WHEEL_SLOTS)].add(tokenId);
+        bloom.get().add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now / SLOT_MILLIS > lastTickSlot) {
+            advance(now);
+        }
+        if (!bloom.get().mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > now;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.token.denylist.size", this, TokenDenylist::size).register(registry);
+    }
+
+    private synchronized void advance(long now) {
+        long currentSlot = now / SLOT_MILLIS;
+        if (currentSlot <= lastTickSlot) {
+            return;
+        }
+
+        boolean removedAny = false;
+        long slotsToDrain = Math.min(currentSlot - lastTickSlot, WHEEL_SLOTS);
+        for (long slot = currentSlot - slotsToDrain + 1; slot <= currentSlot; slot++) {
+            Queue<String> bucket = wheel[(int) Math.floorMod(slot, (long) WHEEL_SLOTS)];
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                String tokenId = bucket.poll();
+                Long expiresAt = revoked.get(tokenId);
+                if (expiresAt == null) {
+                    continue;
+                }
+                if (expiresAt <= now) {
+                    revoked.remove(tokenId);
+                    removedAny = true;
+                } else {
+                    // Expiry is more than one wheel revolution away; keep it for the next pass
+                    bucket.add(tokenId);
+                }
+            }
+        }
+        lastTickSlot = currentSlot;
+
+        if (removedAny) {
+            BloomFilter rebuilt = new BloomFilter();
+            revoked.keySet().forEach(rebuilt::add);
+            bloom.set(rebuilt);
+        }
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray bits = new AtomicLongArray(BLOOM_BITS / 64);
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+                int word = bit >>> 6;
+                long mask = 1L << (bit & 63);
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+                if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a followed by a murmur finalizer to spread the bits
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
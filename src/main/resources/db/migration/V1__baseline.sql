@@ -0,0 +1,131 @@
+-- Baseline: the schema as Hibernate's ddl-auto=update last produced it.
+-- Existing databases are baselined at this version and skip it (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    name              VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    email_verified_at DATETIME(6),
+    password          VARCHAR(255) NOT NULL,
+    role              VARCHAR(255) NOT NULL,
+    remember_token    VARCHAR(100),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT users_email_unique UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(100) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE brands (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(100) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT brands_name_unique UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE products (
+    id                   BIGINT         NOT NULL AUTO_INCREMENT,
+    name                 VARCHAR(100)   NOT NULL,
+    price                DECIMAL(10, 2) NOT NULL,
+    discount_price       DECIMAL(10, 2),
+    description          TEXT,
+    image                VARCHAR(2048),
+    cloudinary_public_id VARCHAR(255),
+    stock_quantity       INT,
+    is_active            BIT(1),
+    category_id          BIGINT,
+    brand_id             BIGINT,
+    created_at           DATETIME(6),
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT products_category_id_foreign FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT products_brand_id_foreign FOREIGN KEY (brand_id) REFERENCES brands (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX products_category_id_brand_id_index ON products (category_id, brand_id);
+CREATE INDEX products_created_at_index ON products (created_at);
+CREATE INDEX products_is_active_index ON products (is_active);
+CREATE INDEX products_name_index ON products (name);
+CREATE INDEX products_price_index ON products (price);
+
+CREATE TABLE product_variants (
+    id                   BIGINT      NOT NULL AUTO_INCREMENT,
+    product_id           BIGINT      NOT NULL,
+    size                 VARCHAR(50) NOT NULL,
+    color                VARCHAR(50) NOT NULL,
+    stock_quantity       INT         NOT NULL,
+    image                VARCHAR(255),
+    cloudinary_public_id VARCHAR(255),
+    is_active            BIT(1)      NOT NULL,
+    created_at           DATETIME(6),
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_product_variants_product_id FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE carts (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT carts_user_id_foreign FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_items (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    cart_id    BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INT    NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT cart_items_cart_id_foreign FOREIGN KEY (cart_id) REFERENCES carts (id),
+    CONSTRAINT cart_items_product_id_foreign FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT,
+    total_price       DECIMAL(10, 2),
+    status            VARCHAR(255)   NOT NULL,
+    shipping_address  TEXT,
+    shipping_city     VARCHAR(100),
+    shipping_district VARCHAR(100),
+    shipping_ward     VARCHAR(100),
+    shipping_phone    VARCHAR(20),
+    shipping_fee      DECIMAL(10, 2),
+    payment_method    VARCHAR(255),
+    payment_status    VARCHAR(255),
+    transaction_id    VARCHAR(255),
+    paid_at           DATETIME(6),
+    notes             TEXT,
+    discount_amount   DECIMAL(10, 2),
+    final_total       DECIMAL(10, 2),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT orders_user_id_foreign FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_details (
+    id         BIGINT         NOT NULL AUTO_INCREMENT,
+    order_id   BIGINT,
+    product_id BIGINT,
+    quantity   INT            NOT NULL,
+    price      DECIMAL(10, 2) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT order_details_order_id_foreign FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT order_details_product_id_foreign FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
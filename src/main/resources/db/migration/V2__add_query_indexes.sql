@@ -0,0 +1,39 @@
+-- Indexes for the order history, admin order lists, cart lookups and variant lookups.
+
+-- Order history per user, newest first (findByUserIdOrderByCreatedAtDesc)
+CREATE INDEX orders_user_id_created_at_index ON orders (user_id, created_at);
+-- Admin lists filtered by status or sorted by date
+CREATE INDEX orders_status_created_at_index ON orders (status, created_at);
+CREATE INDEX orders_created_at_index ON orders (created_at);
+
+CREATE INDEX order_details_order_id_index ON order_details (order_id);
+
+-- One line per product per cart: merge duplicate lines into the oldest one first
+UPDATE cart_items keeper
+    JOIN (SELECT MIN(id) AS keep_id, SUM(quantity) AS total_quantity
+          FROM cart_items
+          GROUP BY cart_id, product_id
+          HAVING COUNT(*) > 1) duplicates ON keeper.id = duplicates.keep_id
+SET keeper.quantity = duplicates.total_quantity;
+
+DELETE duplicate
+FROM cart_items duplicate
+    JOIN cart_items keeper
+        ON keeper.cart_id = duplicate.cart_id
+        AND keeper.product_id = duplicate.product_id
+        AND keeper.id < duplicate.id;
+
+ALTER TABLE cart_items
+    ADD CONSTRAINT cart_items_cart_id_product_id_unique UNIQUE (cart_id, product_id);
+
+-- The service already rejects a second variant with the same size and color; keep the oldest if any slipped through
+DELETE duplicate
+FROM product_variants duplicate
+    JOIN product_variants keeper
+        ON keeper.product_id = duplicate.product_id
+        AND keeper.size = duplicate.size
+        AND keeper.color = duplicate.color
+        AND keeper.id < duplicate.id;
+
+ALTER TABLE product_variants
+    ADD CONSTRAINT product_variants_product_id_size_color_unique UNIQUE (product_id, size, color);
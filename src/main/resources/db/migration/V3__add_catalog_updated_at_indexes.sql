@@ -0,0 +1,5 @@
+-- MAX(updated_at) per catalog table backs the public ETags; with these indexes it is a single index lookup
+CREATE INDEX products_updated_at_index ON products (updated_at);
+CREATE INDEX product_variants_updated_at_index ON product_variants (updated_at);
+CREATE INDEX categories_updated_at_index ON categories (updated_at);
+CREATE INDEX brands_updated_at_index ON brands (updated_at);
@@ -0,0 +1,20 @@
+-- Denormalized product documents for public reads, one row per product, maintained by the catalog services.
+-- No foreign key: rows are derived data and are removed by ProductReadModelService together with the product.
+CREATE TABLE product_read_model (
+    product_id        BIGINT         NOT NULL,
+    name              VARCHAR(100)   NOT NULL,
+    category_id       BIGINT,
+    category_name     VARCHAR(100),
+    brand_id          BIGINT,
+    brand_name        VARCHAR(100),
+    effective_price   DECIMAL(10, 2) NOT NULL,
+    min_variant_stock INT,
+    max_variant_stock INT,
+    is_active         BIT(1)         NOT NULL,
+    document          MEDIUMTEXT     NOT NULL,
+    updated_at        DATETIME(6),
+    PRIMARY KEY (product_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX product_read_model_is_active_category_id_index ON product_read_model (is_active, category_id);
+CREATE INDEX product_read_model_is_active_brand_id_index ON product_read_model (is_active, brand_id);
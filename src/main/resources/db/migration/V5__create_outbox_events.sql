@@ -0,0 +1,16 @@
+-- Transactional outbox: domain events are inserted in the same transaction as the change they describe
+-- and published to in-process subscribers by OutboxRelay.
+CREATE TABLE outbox_events (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    event_type   VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT,
+    payload      TEXT        NOT NULL,
+    attempts     INT         NOT NULL DEFAULT 0,
+    last_error   VARCHAR(500),
+    created_at   DATETIME(6),
+    published_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- The relay claims the oldest unpublished rows; cleanup deletes by published_at
+CREATE INDEX outbox_events_published_at_id_index ON outbox_events (published_at, id);
@@ -0,0 +1,36 @@
+-- Carts are created lazily on first add-to-cart; one cart per user keeps concurrent creation safe.
+-- Fold the items of duplicate carts into each user's oldest cart before adding the unique key.
+
+-- A product in several of a user's carts would collide with UNIQUE (cart_id, product_id) when moved:
+-- keep its oldest line with the summed quantity and drop the others
+UPDATE cart_items ci
+    JOIN (SELECT MIN(ci.id) AS keep_item_id, SUM(ci.quantity) AS quantity
+          FROM cart_items ci
+              JOIN carts c ON c.id = ci.cart_id
+          GROUP BY c.user_id, ci.product_id
+          HAVING COUNT(*) > 1) merged ON merged.keep_item_id = ci.id
+SET ci.quantity = merged.quantity;
+
+DELETE ci FROM cart_items ci
+    JOIN carts c ON c.id = ci.cart_id
+    JOIN (SELECT c.user_id, ci.product_id, MIN(ci.id) AS keep_item_id
+          FROM cart_items ci
+              JOIN carts c ON c.id = ci.cart_id
+          GROUP BY c.user_id, ci.product_id
+          HAVING COUNT(*) > 1) merged
+        ON merged.user_id = c.user_id AND merged.product_id = ci.product_id
+WHERE ci.id <> merged.keep_item_id;
+
+-- Every remaining line is the only one for its user and product, so moving them cannot collide
+UPDATE cart_items ci
+    JOIN carts c ON c.id = ci.cart_id
+    JOIN (SELECT user_id, MIN(id) AS keep_id FROM carts GROUP BY user_id HAVING COUNT(*) > 1) k
+        ON k.user_id = c.user_id
+SET ci.cart_id = k.keep_id
+WHERE c.id <> k.keep_id;
+
+DELETE c FROM carts c
+    JOIN (SELECT user_id, MIN(id) AS keep_id FROM carts GROUP BY user_id) k ON k.user_id = c.user_id
+WHERE c.id <> k.keep_id;
+
+ALTER TABLE carts ADD CONSTRAINT carts_user_id_unique UNIQUE (user_id);
@@ -0,0 +1,32 @@
+-- Cart and order lines point at the product variant (size and color); checkout checks and decrements variant stock.
+
+ALTER TABLE cart_items ADD COLUMN variant_id BIGINT NULL AFTER product_id;
+
+-- Existing lines predate variant selection: give them the product's first active variant and
+-- drop lines whose product has none. One variant per product keeps (cart_id, variant_id) unique.
+UPDATE cart_items ci
+    JOIN (SELECT product_id, MIN(id) AS variant_id
+          FROM product_variants
+          WHERE is_active = 1
+          GROUP BY product_id) first_variant ON first_variant.product_id = ci.product_id
+SET ci.variant_id = first_variant.variant_id;
+
+DELETE FROM cart_items WHERE variant_id IS NULL;
+
+-- Deleting a variant removes it from carts
+ALTER TABLE cart_items
+    MODIFY variant_id BIGINT NOT NULL,
+    ADD CONSTRAINT cart_items_variant_id_foreign
+        FOREIGN KEY (variant_id) REFERENCES product_variants (id) ON DELETE CASCADE,
+    ADD CONSTRAINT cart_items_cart_id_variant_id_unique UNIQUE (cart_id, variant_id);
+
+-- Separate statement: the new unique key must exist to back the cart_id foreign key before this one goes
+ALTER TABLE cart_items DROP INDEX cart_items_cart_id_product_id_unique;
+
+-- Size and color are copied so order history survives variant edits and deletes
+ALTER TABLE order_details
+    ADD COLUMN variant_id BIGINT NULL AFTER product_id,
+    ADD COLUMN variant_size VARCHAR(50) NULL AFTER variant_id,
+    ADD COLUMN variant_color VARCHAR(50) NULL AFTER variant_size,
+    ADD CONSTRAINT order_details_variant_id_foreign
+        FOREIGN KEY (variant_id) REFERENCES product_variants (id) ON DELETE SET NULL;
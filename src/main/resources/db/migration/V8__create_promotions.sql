@@ -0,0 +1,32 @@
+-- Promotions: automatic (no code) or coupon, percentage or fixed, optionally limited to a category and/or brand.
+-- Active rows are compiled into an in-memory index; only used_count changes at checkout.
+CREATE TABLE promotions (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    code           VARCHAR(50),
+    name           VARCHAR(255)   NOT NULL,
+    discount_type  VARCHAR(20)    NOT NULL,
+    discount_value DECIMAL(10, 2) NOT NULL,
+    max_discount   DECIMAL(10, 2),
+    min_subtotal   DECIMAL(10, 2),
+    category_id    BIGINT,
+    brand_id       BIGINT,
+    usage_limit    INT,
+    used_count     INT            NOT NULL DEFAULT 0,
+    starts_at      DATETIME(6),
+    ends_at        DATETIME(6),
+    is_active      BIT(1)         NOT NULL,
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT promotions_code_unique UNIQUE (code),
+    CONSTRAINT promotions_category_id_foreign FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT promotions_brand_id_foreign FOREIGN KEY (brand_id) REFERENCES brands (id)
+) ENGINE = InnoDB;
+
+-- COUNT and MAX(updated_at) tell the instances when to recompile the index
+CREATE INDEX promotions_updated_at_index ON promotions (updated_at);
+
+ALTER TABLE orders
+    ADD COLUMN promotion_id BIGINT NULL AFTER discount_amount,
+    ADD CONSTRAINT orders_promotion_id_foreign
+        FOREIGN KEY (promotion_id) REFERENCES promotions (id) ON DELETE SET NULL;
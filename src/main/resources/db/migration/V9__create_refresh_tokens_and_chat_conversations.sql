@@ -0,0 +1,28 @@
+-- Refresh tokens and chat conversations were added after the V1 baseline, so databases baselined
+-- at V1 get them here rather than in V1, which they skip.
+CREATE TABLE refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT      NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT refresh_tokens_token_hash_unique UNIQUE (token_hash),
+    CONSTRAINT refresh_tokens_user_id_foreign FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX refresh_tokens_user_id_index ON refresh_tokens (user_id);
+CREATE INDEX refresh_tokens_expires_at_index ON refresh_tokens (expires_at);
+
+CREATE TABLE chat_conversations (
+    id                    VARCHAR(64) NOT NULL,
+    summary               TEXT,
+    history               TEXT,
+    mentioned_product_ids TEXT,
+    created_at            DATETIME(6),
+    updated_at            DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX chat_conversations_updated_at_index ON chat_conversations (updated_at);
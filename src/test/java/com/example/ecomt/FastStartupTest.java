@@ -0,0 +1,59 @@
+package com.example.ecomt;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the faststart profile on embedded H2 and fails when startup takes longer than
+ * the target. Runs alone in the startup-test profile so the measurement is a cold start.
+ */
+@Tag("startup")
+class FastStartupTest {
+
+    private static final long TARGET_MS = Long.getLong("startup.target-ms", 6000);
+
+    @Test
+    void fastStartProfileBootsWithinTarget() {
+        AtomicReference<Duration> timeTaken = new AtomicReference<>();
+        ApplicationListener<ApplicationEvent> readyListener = event -> {
+            if (event instanceof ApplicationReadyEvent ready) {
+                timeTaken.set(ready.getTimeTaken());
+            }
+        };
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EcomTApplication.class)
+                .profiles("h2", "faststart")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:faststart;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop")
+                .listeners(readyListener)
+                .run();
+        try {
+            long startupMs = timeTaken.get().toMillis();
+            System.out.printf("faststart startup: %d ms (target %d ms)%n", startupMs, TARGET_MS);
+
+            // Non-critical beans are deferred, persistence is not
+            assertFalse(context.getBeanFactory().containsSingleton("geminiService"));
+            assertFalse(context.getBeanFactory().containsSingleton("cloudinary"));
+            assertFalse(context.getBeanFactory().containsSingleton("docsController"));
+            assertTrue(context.getBeanFactory().containsSingleton("entityManagerFactory"));
+
+            assertTrue(startupMs <= TARGET_MS,
+                    "Startup took " + startupMs + " ms, target is " + TARGET_MS + " ms");
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import com.example.ecomt.repository.UpdateStamp;
+import com.example.ecomt.service.CatalogFreshnessService;
+import com.example.ecomt.service.CatalogFreshnessService.Freshness;
+import com.example.ecomt.service.CatalogJsonCache;
+import com.example.ecomt.service.CatalogVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogHttpCachingTest {
+
+    private CategoryRepository categoryRepository;
+    private CatalogFreshnessService freshnessService;
+    private CatalogVersionService catalogVersionService;
+    private CatalogHttpCaching caching;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        freshnessService = new CatalogFreshnessService(mock(ProductRepository.class),
+                mock(ProductVariantRepository.class), categoryRepository, mock(BrandRepository.class));
+        catalogVersionService = new CatalogVersionService();
+        CatalogJsonCache jsonCache = new CatalogJsonCache(new ObjectMapper(), catalogVersionService, true, 16, 256);
+        caching = new CatalogHttpCaching(jsonCache, Duration.ofSeconds(60), Duration.ofSeconds(300), Duration.ofSeconds(600));
+    }
+
+    @Test
+    void firstRequestGetsBodyWithValidatorsAndCachePolicy() {
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, LocalDateTime.of(2025, 1, 1, 10, 0)));
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<List<String>> response = caching.respond(
+                get(null, servletResponse), freshnessService.categories(), () -> List.of("a", "b", "c"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().size());
+        assertEquals("max-age=60, public, s-maxage=300, stale-while-revalidate=600",
+                response.getHeaders().getCacheControl());
+        assertNotNull(servletResponse.getHeader("ETag"));
+    }
+
+    @Test
+    void matchingEtagAnswers304WithoutBuildingBody() {
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, LocalDateTime.of(2025, 1, 1, 10, 0)));
+        String etag = freshnessService.categories().getEtag();
+        AtomicInteger bodiesBuilt = new AtomicInteger();
+
+        ResponseEntity<String> response = caching.respond(get(etag, new MockHttpServletResponse()),
+                freshnessService.categories(), () -> "body-" + bodiesBuilt.incrementAndGet());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(0, bodiesBuilt.get());
+    }
+
+    @Test
+    void deletionChangesEtagEvenThoughNewestTimestampIsUnchanged() {
+        LocalDateTime newest = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, newest));
+        Freshness before = freshnessService.categories();
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(2, newest));
+
+        assertNotEquals(before.getEtag(), freshnessService.categories().getEtag());
+    }
+
+    @Test
+    void onlySingleRowsGetLastModified() {
+        LocalDateTime updated = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(categoryRepository.findUpdateStampById(7L)).thenReturn(stamp(1, updated));
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, updated));
+
+        assertTrue(freshnessService.category(7L).getLastModified() > 0);
+        assertEquals(-1, freshnessService.categories().getLastModified());
+    }
+
+    @Test
+    void serializedBodyIsGzippedForClientsThatAcceptIt() throws IOException {
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, LocalDateTime.of(2025, 1, 1, 10, 0)));
+        List<String> names = IntStream.range(0, 200).mapToObj(i -> "category-" + i).toList();
+
+        ResponseEntity<byte[]> gzipped = caching.respondSerialized(withAcceptEncoding("gzip, deflate, br"),
+                freshnessService.categories(), "categories", () -> names);
+        ResponseEntity<byte[]> plain = caching.respondSerialized(withAcceptEncoding(null),
+                freshnessService.categories(), "categories", () -> names);
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("Accept-Encoding", gzipped.getHeaders().getFirst("Vary"));
+        assertTrue(gzipped.getBody().length < plain.getBody().length);
+        assertNull(plain.getHeaders().getFirst("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertTrue(new String(plain.getBody(), StandardCharsets.UTF_8).startsWith("[\"category-0\""));
+    }
+
+    @Test
+    void serializedBodyIsBuiltOncePerCatalogVersion() {
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, LocalDateTime.of(2025, 1, 1, 10, 0)));
+        AtomicInteger bodiesBuilt = new AtomicInteger();
+
+        caching.respondSerialized(withAcceptEncoding(null), freshnessService.categories(), "categories",
+                () -> List.of("built-" + bodiesBuilt.incrementAndGet()));
+        ResponseEntity<byte[]> cached = caching.respondSerialized(withAcceptEncoding(null), freshnessService.categories(),
+                "categories", () -> List.of("built-" + bodiesBuilt.incrementAndGet()));
+        assertEquals(1, bodiesBuilt.get());
+        assertEquals("[\"built-1\"]", new String(cached.getBody(), StandardCharsets.UTF_8));
+
+        catalogVersionService.bump();
+        ResponseEntity<byte[]> rebuilt = caching.respondSerialized(withAcceptEncoding(null), freshnessService.categories(),
+                "categories", () -> List.of("built-" + bodiesBuilt.incrementAndGet()));
+        assertEquals("[\"built-2\"]", new String(rebuilt.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serializedBodiesShareAWeakEtagAcrossEncodings() {
+        when(categoryRepository.findUpdateStamp()).thenReturn(stamp(3, LocalDateTime.of(2025, 1, 1, 10, 0)));
+        List<String> names = IntStream.range(0, 200).mapToObj(i -> "category-" + i).toList();
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+        MockHttpServletResponse plainResponse = new MockHttpServletResponse();
+
+        caching.respondSerialized(withAcceptEncoding("gzip", null, gzipResponse), freshnessService.categories(),
+                "categories", () -> names);
+        caching.respondSerialized(withAcceptEncoding(null, null, plainResponse), freshnessService.categories(),
+                "categories", () -> names);
+        String etag = gzipResponse.getHeader("ETag");
+        ResponseEntity<byte[]> revalidated = caching.respondSerialized(
+                withAcceptEncoding(null, etag, new MockHttpServletResponse()), freshnessService.categories(),
+                "categories", () -> names);
+
+        assertEquals("W/" + freshnessService.categories().getEtag(), etag);
+        assertEquals(etag, plainResponse.getHeader("ETag"));
+        // A gzip body's validator revalidates the identity body, which is fine for a weak ETag
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+    }
+
+    @Test
+    void gzipRefusedWithZeroQuality() {
+        assertTrue(CatalogHttpCaching.acceptsGzip("gzip"));
+        assertTrue(CatalogHttpCaching.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(CatalogHttpCaching.acceptsGzip("*"));
+        assertFalse(CatalogHttpCaching.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogHttpCaching.acceptsGzip("identity"));
+        assertFalse(CatalogHttpCaching.acceptsGzip(null));
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static ServletWebRequest withAcceptEncoding(String acceptEncoding) {
+        return withAcceptEncoding(acceptEncoding, null, new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest withAcceptEncoding(String acceptEncoding, String ifNoneMatch,
+            MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static UpdateStamp stamp(long count, LocalDateTime lastUpdated) {
+        return new UpdateStamp() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdated() {
+                return lastUpdated;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.converter.DiscountTypeConverter;
+import com.example.ecomt.converter.OrderStatusConverter;
+import com.example.ecomt.dto.ProductRequest;
+import com.example.ecomt.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jjwtImplementationsAreReflectivelyConstructible() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonSerializer")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    void cloudinaryStrategiesAndHttpClientResourcesAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.cloudinary.http44.UploaderStrategy")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("mozilla/public-suffix-list.txt").test(hints));
+    }
+
+    @Test
+    void convertersAndManuallyParsedDtosAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(OrderStatusConverter.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DiscountTypeConverter.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProductRequest.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProductResponse.class).test(hints));
+    }
+}
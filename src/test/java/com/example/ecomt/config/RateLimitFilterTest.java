@@ -0,0 +1,89 @@
+package com.example.ecomt.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=false",
+        "rate-limit.enabled=true",
+        "rate-limit.auth.capacity=2",
+        "rate-limit.auth.refill-per-minute=1",
+        "rate-limit.chat.capacity=2",
+        "rate-limit.chat.refill-per-minute=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void authRequestsBeyondCapacityAreThrottled() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, not("0")))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void chatRequestsBeyondCapacityAreThrottled() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/chat/health"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/chat/health"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void otherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/system/info"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    void statsRequireAnAdmin() throws Exception {
+        mockMvc.perform(get("/api/system/rate-limit"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void statsAreForbiddenToUsers() throws Exception {
+        mockMvc.perform(get("/api/system/rate-limit"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void statsAreVisibleToAdmins() throws Exception {
+        mockMvc.perform(get("/api/system/rate-limit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.auth.throttled").exists())
+                .andExpect(jsonPath("$.chat.allowed").exists());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ecomt.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = h2("primary");
+        DriverManagerDataSource replica = h2("replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        for (JdbcTemplate jdbc : new JdbcTemplate[] {primaryJdbc, replicaJdbc}) {
+            jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+            jdbc.execute("CREATE TABLE replication_status (lag_seconds BIGINT)");
+        }
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.update("INSERT INTO replication_status VALUES (0)");
+
+        routing = new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica),
+                "SELECT lag_seconds FROM replication_status", 5);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        routedJdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearPin();
+        primaryJdbc.execute("SHUTDOWN");
+        replicaJdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readWriteTransactionsGoToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+    }
+
+    @Test
+    void writeTransactionPinsLaterReadsToPrimary() {
+        readWrite.executeWithoutResult(status -> routedJdbc.update("UPDATE node SET name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        ReadWriteRoutingDataSource.clearPin();
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilItCatchesUp() {
+        replicaJdbc.update("UPDATE replication_status SET lag_seconds = 30");
+        routing.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+        assertEquals(Boolean.FALSE, replicaStatus().get("healthy"));
+        assertEquals(30L, replicaStatus().get("lagSeconds"));
+
+        replicaJdbc.update("UPDATE replication_status SET lag_seconds = 1");
+        routing.checkReplicas();
+
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void replicaWithoutReplicationStatusIsTakenOutOfRotation() {
+        replicaJdbc.update("DELETE FROM replication_status");
+        routing.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return routedJdbc.queryForObject("SELECT name FROM node FETCH FIRST 1 ROWS ONLY", String.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> replicaStatus() {
+        return (Map<String, Object>) routing.getReplicaStatus().get("replica-0");
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ecomt.config;
+
+import com.example.ecomt.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "outbox.relay.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void missingTokenIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/user/cart"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTokenIsUnauthorized() throws Exception {
+        JwtUtil expiredTokens = new JwtUtil();
+        ReflectionTestUtils.setField(expiredTokens, "secret", secret);
+        ReflectionTestUtils.setField(expiredTokens, "expiration", -60000L);
+        String token = expiredTokens.generateTokenWithRole("expired@example.com", "ROLE_USER");
+
+        mockMvc.perform(get("/api/user/cart").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void authenticatedUserWithoutRoleIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/brands"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void chatCacheStatsNeedAToken() throws Exception {
+        mockMvc.perform(get("/api/chat/cache/stats"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void chatCacheStatsAreForbiddenToUsers() throws Exception {
+        mockMvc.perform(get("/api/chat/cache/stats"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void chatCacheStatsAreVisibleToAdmins() throws Exception {
+        mockMvc.perform(get("/api/chat/cache/stats"))
+                .andExpect(status().isOk());
+    }
+}
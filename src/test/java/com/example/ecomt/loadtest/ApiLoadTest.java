@@ -0,0 +1,239 @@
+package com.example.ecomt.loadtest;
+
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.entity.User;
+import com.example.ecomt.repository.*;
+import com.example.ecomt.service.ProductReadModelService;
+import com.example.ecomt.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end throughput test: boots the application on a random port against an
+ * embedded H2 database and drives a browse / add-to-cart / checkout / admin mix with
+ * concurrent virtual users. Excluded from the default build; run with -Pload-test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@Tag("load")
+class ApiLoadTest {
+
+    private static final int VIRTUAL_USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    // Request mix in percent: browse, add to cart, checkout, admin order listing
+    private static final int BROWSE_WEIGHT = 60;
+    private static final int ADD_TO_CART_WEIGHT = 25;
+    private static final int CHECKOUT_WEIGHT = 10;
+
+    private static final String CHECKOUT_BODY = "{\"shippingAddress\":\"1 Load Test Street\",\"shippingCity\":\"Ho Chi Minh City\","
+            + "\"shippingDistrict\":\"District 1\",\"shippingWard\":\"Ward 1\",\"shippingPhone\":\"0123456789\","
+            + "\"paymentMethod\":\"COD\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private ProductReadModelService productReadModelService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<User> users = new CatalogSeeder(categoryRepository, brandRepository, productRepository,
+                productVariantRepository, userRepository, orderRepository, orderDetailRepository)
+                .seed(passwordEncoder.encode("load-test-password"));
+        // Seeding bypasses the catalog services, so build the public read model from the tables
+        productReadModelService.rebuildIfIncomplete();
+        assertTrue(VIRTUAL_USERS <= users.size(),
+                "Each virtual user needs its own account; raise loadtest.seed-users");
+
+        List<String> userTokens = new ArrayList<>();
+        for (User user : users) {
+            userTokens.add(jwtUtil.generateTokenWithRole(user.getEmail(), "ROLE_USER"));
+        }
+        String adminToken = jwtUtil.generateTokenWithRole("admin@loadtest.local", "ROLE_ADMIN");
+        // Cart lines are per variant; the product id is read from the unloaded proxy
+        List<ProductVariant> variants = productVariantRepository.findByIsActiveTrue();
+
+        // Warm-up results are discarded so JIT compilation and pool growth do not skew percentiles
+        run(new LatencyRecorder(), WARMUP_SECONDS, userTokens, adminToken, variants);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long started = System.nanoTime();
+        run(recorder, DURATION_SECONDS, userTokens, adminToken, variants);
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        List<Map<String, Object>> rows = recorder.report(elapsedSeconds);
+        printReport(rows, elapsedSeconds);
+        writeReport(rows, elapsedSeconds);
+
+        double errorRate = recorder.totalRequests() == 0 ? 1.0 : (double) recorder.totalErrors() / recorder.totalRequests();
+        assertTrue(errorRate <= MAX_ERROR_RATE, "Error rate " + errorRate + " exceeds " + MAX_ERROR_RATE);
+    }
+
+    private void run(LatencyRecorder recorder, int seconds, List<String> userTokens, String adminToken,
+            List<ProductVariant> variants) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(VIRTUAL_USERS);
+        for (int i = 0; i < VIRTUAL_USERS; i++) {
+            String token = userTokens.get(i);
+            Random random = new Random(i);
+            virtualUsers.submit(() -> {
+                int itemsInCart = 0;
+                while (System.nanoTime() < deadline) {
+                    int roll = random.nextInt(100);
+                    if (roll < BROWSE_WEIGHT) {
+                        browse(recorder, random);
+                    } else if (roll < BROWSE_WEIGHT + ADD_TO_CART_WEIGHT || itemsInCart == 0) {
+                        if (addToCart(recorder, token, variants.get(random.nextInt(variants.size())))) {
+                            itemsInCart++;
+                        }
+                    } else if (roll < BROWSE_WEIGHT + ADD_TO_CART_WEIGHT + CHECKOUT_WEIGHT) {
+                        if (checkout(recorder, token)) {
+                            itemsInCart = 0;
+                        }
+                    } else {
+                        send(recorder, "GET /api/admin/orders", get("/api/admin/orders", adminToken));
+                    }
+                }
+            });
+        }
+        virtualUsers.shutdown();
+        virtualUsers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private void browse(LatencyRecorder recorder, Random random) {
+        StringBuilder query = new StringBuilder("/api/products/filter?categoryId=")
+                .append(1 + random.nextInt(CatalogSeeder.CATEGORIES));
+        if (random.nextBoolean()) {
+            query.append("&brandId=").append(1 + random.nextInt(CatalogSeeder.BRANDS));
+        }
+        if (random.nextBoolean()) {
+            long minPrice = 50_000L + random.nextInt(1_000) * 1_000L;
+            query.append("&minPrice=").append(minPrice).append("&maxPrice=").append(minPrice + 500_000L);
+        }
+        send(recorder, "GET /api/products/filter", get(query.toString(), null));
+    }
+
+    private boolean addToCart(LatencyRecorder recorder, String token, ProductVariant variant) {
+        String body = "{\"productId\":" + variant.getProduct().getId() + ",\"variantId\":" + variant.getId()
+                + ",\"quantity\":1}";
+        return send(recorder, "POST /api/user/cart/add", post("/api/user/cart/add", token, body));
+    }
+
+    private boolean checkout(LatencyRecorder recorder, String token) {
+        return send(recorder, "POST /api/user/orders", post("/api/user/orders", token, CHECKOUT_BODY));
+    }
+
+    private boolean send(LatencyRecorder recorder, String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() >= 200 && response.statusCode() < 300;
+        } catch (Exception e) {
+            success = false;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, success);
+        return success;
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void printReport(List<Map<String, Object>> rows, double elapsedSeconds) {
+        System.out.printf("%nLoad test: %d virtual users, %.1f s, %d products%n",
+                VIRTUAL_USERS, elapsedSeconds, CatalogSeeder.PRODUCTS);
+        System.out.printf("%-28s %9s %10s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-28s %9s %10s %9s %9s %9s %9s %7.2f%%%n",
+                    row.get("endpoint"), row.get("requests"), row.get("throughputPerSecond"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"),
+                    ((Double) row.get("errorRate")) * 100);
+        }
+    }
+
+    private void writeReport(List<Map<String, Object>> rows, double elapsedSeconds) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualUsers", VIRTUAL_USERS);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("products", CatalogSeeder.PRODUCTS);
+        report.put("variantsPerProduct", CatalogSeeder.VARIANTS_PER_PRODUCT);
+        report.put("seededOrders", CatalogSeeder.ORDERS);
+        report.put("endpoints", rows);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(new File("target/load-test-report.json"), report);
+    }
+}
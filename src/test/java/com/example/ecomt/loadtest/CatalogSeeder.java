@@ -0,0 +1,145 @@
+package com.example.ecomt.loadtest;
+
+import com.example.ecomt.entity.*;
+import com.example.ecomt.repository.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic catalog, users and order history for the load test. Sizes come
+ * from system properties so bigger datasets can be tried without code changes.
+ */
+class CatalogSeeder {
+
+    static final int PRODUCTS = Integer.getInteger("loadtest.products", 2000);
+    static final int VARIANTS_PER_PRODUCT = Integer.getInteger("loadtest.variants", 3);
+    static final int USERS = Integer.getInteger("loadtest.seed-users", 200);
+    static final int ORDERS = Integer.getInteger("loadtest.orders", 1000);
+    static final int CATEGORIES = 12;
+    static final int BRANDS = 15;
+
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+    private static final String[] COLORS = {"Black", "White", "Blue", "Red"};
+
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final OrderDetailRepository orderDetailRepository;
+    private final Random random = new Random(42);
+
+    CatalogSeeder(CategoryRepository categoryRepository, BrandRepository brandRepository,
+            ProductRepository productRepository, ProductVariantRepository productVariantRepository,
+            UserRepository userRepository, OrderRepository orderRepository,
+            OrderDetailRepository orderDetailRepository) {
+        this.categoryRepository = categoryRepository;
+        this.brandRepository = brandRepository;
+        this.productRepository = productRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.userRepository = userRepository;
+        this.orderRepository = orderRepository;
+        this.orderDetailRepository = orderDetailRepository;
+    }
+
+    /**
+     * @param passwordHash one precomputed hash shared by all users, so seeding does not run BCrypt per user
+     * @return the seeded customers; the admin account is created as well but not returned
+     */
+    List<User> seed(String passwordHash) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categories.add(category);
+        }
+        categories = categoryRepository.saveAll(categories);
+
+        List<Brand> brands = new ArrayList<>();
+        for (int i = 0; i < BRANDS; i++) {
+            Brand brand = new Brand();
+            brand.setName("Brand " + i);
+            brands.add(brand);
+        }
+        brands = brandRepository.saveAll(brands);
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(50_000L + random.nextInt(2_000) * 1_000L));
+            product.setDiscountPrice(i % 4 == 0 ? product.getPrice().multiply(BigDecimal.valueOf(0.9)) : null);
+            product.setDescription("Synthetic product " + i + " for load testing");
+            product.setStockQuantity(1_000_000);
+            product.setIsActive(true);
+            product.setCategory(categories.get(i % CATEGORIES));
+            product.setBrand(brands.get(i % BRANDS));
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+
+        List<ProductVariant> variants = new ArrayList<>(PRODUCTS * VARIANTS_PER_PRODUCT);
+        for (Product product : products) {
+            for (int v = 0; v < VARIANTS_PER_PRODUCT; v++) {
+                ProductVariant variant = new ProductVariant();
+                variant.setProduct(product);
+                variant.setSize(SIZES[v % SIZES.length]);
+                variant.setColor(COLORS[(v / SIZES.length) % COLORS.length]);
+                variant.setStockQuantity(1_000);
+                variant.setIsActive(true);
+                variants.add(variant);
+            }
+        }
+        productVariantRepository.saveAll(variants);
+
+        User admin = new User();
+        admin.setName("Load Admin");
+        admin.setEmail("admin@loadtest.local");
+        admin.setPassword(passwordHash);
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail("user" + i + "@loadtest.local");
+            user.setPassword(passwordHash);
+            user.setRole(User.Role.USER);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUser(users.get(random.nextInt(users.size())));
+            order.setStatus(Order.OrderStatus.values()[random.nextInt(Order.OrderStatus.values().length)]);
+            order.setShippingAddress("1 Load Test Street");
+            order.setShippingCity("Ho Chi Minh City");
+            order.setShippingPhone("0123456789");
+
+            List<OrderDetail> details = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            int lines = 1 + random.nextInt(3);
+            for (int l = 0; l < lines; l++) {
+                Product product = products.get(random.nextInt(products.size()));
+                OrderDetail detail = new OrderDetail();
+                detail.setOrder(order);
+                detail.setProduct(product);
+                detail.setQuantity(1 + random.nextInt(3));
+                detail.setPrice(product.getPrice());
+                total = total.add(product.getPrice().multiply(BigDecimal.valueOf(detail.getQuantity())));
+                details.add(detail);
+            }
+            order.setTotalPrice(total);
+            order.setFinalTotal(total);
+            orderRepository.save(order);
+            orderDetailRepository.saveAll(details);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ecomt.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies and errors from all virtual users and turns them
+ * into throughput, percentile and error-rate figures.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, name -> new EndpointStats()).add(latencyNanos, success);
+    }
+
+    /**
+     * @return one row per endpoint, ordered by name
+     */
+    List<Map<String, Object>> report(double durationSeconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        endpoints.keySet().stream().sorted().forEach(name -> rows.add(endpoints.get(name).summarize(name, durationSeconds)));
+        return rows;
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::count).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+    }
+
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized Map<String, Object> summarize(String name, double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", name);
+            row.put("requests", count);
+            row.put("throughputPerSecond", round(count / durationSeconds));
+            row.put("p50Ms", percentileMillis(sorted, 0.50));
+            row.put("p95Ms", percentileMillis(sorted, 0.95));
+            row.put("p99Ms", percentileMillis(sorted, 0.99));
+            row.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1_000_000.0));
+            row.put("errorRate", count == 0 ? 0.0 : round((double) errors / count));
+            return row;
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return round(sorted[Math.max(0, index)] / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
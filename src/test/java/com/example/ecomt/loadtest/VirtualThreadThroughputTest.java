@@ -0,0 +1,155 @@
+package com.example.ecomt.loadtest;
+
+import com.example.ecomt.EcomTApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares chat throughput with platform and virtual request threads while the
+ * downstream model API is slow. A local stub stands in for Gemini and answers after
+ * a fixed delay; the same workload is run once per threading mode.
+ */
+@Tag("load")
+class VirtualThreadThroughputTest {
+
+    private static final int CONCURRENT_USERS = Integer.getInteger("loadtest.users", 400);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 20);
+    private static final int DOWNSTREAM_LATENCY_MS = Integer.getInteger("loadtest.downstream-latency-ms", 250);
+    private static final int PLATFORM_MAX_THREADS = Integer.getInteger("loadtest.platform-max-threads", 200);
+
+    private static final String GEMINI_REPLY = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Xin chào!\"}]}}]}";
+
+    private static HttpServer slowGemini;
+    private static ExecutorService slowGeminiExecutor;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @BeforeAll
+    static void startSlowGemini() throws Exception {
+        slowGeminiExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        slowGemini = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        slowGemini.setExecutor(slowGeminiExecutor);
+        slowGemini.createContext("/", exchange -> {
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = GEMINI_REPLY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        slowGemini.start();
+    }
+
+    @AfterAll
+    static void stopSlowGemini() {
+        slowGemini.stop(0);
+        slowGeminiExecutor.shutdownNow();
+    }
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Map<String, Object> platform = measure(false);
+        Map<String, Object> virtual = measure(true);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrentUsers", CONCURRENT_USERS);
+        report.put("downstreamLatencyMs", DOWNSTREAM_LATENCY_MS);
+        report.put("platformMaxThreads", PLATFORM_MAX_THREADS);
+        report.put("platform", platform);
+        report.put("virtual", virtual);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(new File("target/virtual-threads-report.json"), report);
+
+        System.out.printf("%nSlow downstream (%d ms), %d concurrent users%n", DOWNSTREAM_LATENCY_MS, CONCURRENT_USERS);
+        System.out.printf("%-10s %10s %9s %9s %9s %8s%n", "mode", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+        for (Map<String, Object> row : List.of(platform, virtual)) {
+            System.out.printf("%-10s %10s %9s %9s %9s %7.2f%%%n", row.get("endpoint"), row.get("throughputPerSecond"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), ((Double) row.get("errorRate")) * 100);
+        }
+    }
+
+    private Map<String, Object> measure(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EcomTApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:throughput-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_MAX_THREADS,
+                        "gemini.api.url=http://localhost:" + slowGemini.getAddress().getPort() + "/generate",
+                        "gemini.api.max-concurrent-requests=" + CONCURRENT_USERS * 2,
+                        "chat.cache.enabled=false")
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LatencyRecorder recorder = new LatencyRecorder();
+            long started = System.nanoTime();
+            long deadline = started + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+            ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+            for (int i = 0; i < CONCURRENT_USERS; i++) {
+                users.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        chat(recorder, mode, port);
+                    }
+                });
+            }
+            users.shutdown();
+            users.awaitTermination(DURATION_SECONDS + 60L, TimeUnit.SECONDS);
+
+            double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return recorder.report(elapsedSeconds).get(0);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void chat(LatencyRecorder recorder, String mode, int port) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/chat/message"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"message\":\"Shop có giày không?\"}"))
+                .build();
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() == 200 && response.body().contains("Xin chào!");
+        } catch (Exception e) {
+            success = false;
+        }
+        recorder.record(mode, System.nanoTime() - start, success);
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.ecomt.service;
 
 import com.example.ecomt.dto.AuthResponse;
+import com.example.ecomt.dto.LoginRequest;
+import com.example.ecomt.dto.RefreshTokenRequest;
 import com.example.ecomt.dto.RegisterRequest;
 import com.example.ecomt.entity.User;
 import com.example.ecomt.repository.UserRepository;
 import com.example.ecomt.util.JwtUtil;
+import com.example.ecomt.util.TokenDenylist;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +15,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -30,7 +35,13 @@ class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private CartService cartService;
+    private PasswordVerificationService passwordVerificationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
 
     @InjectMocks
     private AuthService authService;
@@ -68,4 +79,87 @@ class AuthServiceTest {
         // Verify JWT was generated with correct role format
         verify(jwtUtil).generateTokenWithRole("test@example.com", "ROLE_USER");
     }
+
+    @Test
+    void testLogin_ShouldVerifyPasswordOnceAndRehashOutdatedCost() {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        user.setPassword("$2a$08$outdatedHash");
+        user.setRole(User.Role.USER);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordVerificationService.verify("password123", "$2a$08$outdatedHash"))
+                .thenReturn(new PasswordVerificationService.Verification(true, "$2a$10$upgradedHash"));
+        when(jwtUtil.generateTokenWithRole(anyString(), anyString())).thenReturn("jwt-token");
+
+        // When
+        AuthResponse response = authService.login(request);
+
+        // Then
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("$2a$10$upgradedHash", user.getPassword());
+        verify(passwordVerificationService, times(1)).verify(anyString(), anyString());
+        verify(userRepository).save(user);
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testLogin_ShouldRejectWrongPassword() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("wrong");
+
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("$2a$10$hash");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordVerificationService.verify("wrong", "$2a$10$hash"))
+                .thenReturn(new PasswordVerificationService.Verification(false, null));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.login(request));
+
+        assertTrue(exception.getMessage().contains("Bad credentials"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testRefresh_ShouldIssueNewTokensWithoutPasswordCheck() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        user.setRole(User.Role.USER);
+
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("old-refresh");
+
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new-refresh"));
+        when(jwtUtil.generateTokenWithRole("test@example.com", "ROLE_USER")).thenReturn("jwt-token");
+
+        AuthResponse response = authService.refresh(request);
+
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        verifyNoInteractions(passwordVerificationService, passwordEncoder);
+    }
+
+    @Test
+    void testRefresh_ShouldRejectUnknownOrReusedToken() {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("reused-refresh");
+
+        when(refreshTokenService.rotate("reused-refresh")).thenReturn(null);
+
+        assertThrows(RuntimeException.class, () -> authService.refresh(request));
+        verify(jwtUtil, never()).generateTokenWithRole(anyString(), anyString());
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.AddToCartRequest;
+import com.example.ecomt.entity.Brand;
+import com.example.ecomt.entity.CartItem;
+import com.example.ecomt.entity.Category;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.entity.User;
+import com.example.ecomt.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many threads adding the same product variant to a cart that does not exist yet: the cart is
+ * created once and the adds merge into one line without losing any quantity.
+ */
+@SpringBootTest(properties = "outbox.relay.enabled=false")
+@ActiveProfiles("h2")
+class CartConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 25;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentAddsOfSameVariantMergeIntoOneLine() throws Exception {
+        User user = new User();
+        user.setName("Cart Race");
+        user.setEmail("cart-race-" + System.nanoTime() + "@test.local");
+        user.setPassword("unused");
+        user.setRole(User.Role.USER);
+        Long userId = userRepository.save(user).getId();
+        ProductVariant variant = variant();
+        Long productId = variant.getProduct().getId();
+        Long variantId = variant.getId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    AddToCartRequest request = new AddToCartRequest();
+                    request.setProductId(productId);
+                    request.setVariantId(variantId);
+                    request.setQuantity(1);
+                    cartService.addToCart(userId, request);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        Long cartId = cartRepository.findByUserId(userId).orElseThrow().getId();
+        List<CartItem> lines = cartItemRepository.findByCartId(cartId);
+        assertEquals(1, lines.size());
+        assertEquals(THREADS * ADDS_PER_THREAD, lines.get(0).getQuantity());
+    }
+
+    private ProductVariant variant() {
+        Category category = new Category();
+        category.setName("Race Category");
+        Brand brand = new Brand();
+        brand.setName("Race Brand " + System.nanoTime());
+
+        Product product = new Product();
+        product.setName("Race Product");
+        product.setPrice(BigDecimal.valueOf(150000));
+        product.setStockQuantity(1000);
+        product.setIsActive(true);
+        product.setCategory(categoryRepository.save(category));
+        product.setBrand(brandRepository.save(brand));
+
+        ProductVariant variant = new ProductVariant();
+        variant.setProduct(productRepository.save(product));
+        variant.setSize("M");
+        variant.setColor("Black");
+        variant.setStockQuantity(1000);
+        variant.setIsActive(true);
+        return productVariantRepository.save(variant);
+    }
+}
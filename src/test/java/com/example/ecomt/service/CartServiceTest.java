@@ -0,0 +1,185 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.AddToCartRequest;
+import com.example.ecomt.dto.CartResponse;
+import com.example.ecomt.entity.Cart;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.repository.CartItemRepository;
+import com.example.ecomt.repository.CartRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.ecomt.service.TestFixtures.cart;
+import static com.example.ecomt.service.TestFixtures.cartItem;
+import static com.example.ecomt.service.TestFixtures.product;
+import static com.example.ecomt.service.TestFixtures.variant;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+
+    @Mock
+    private PromotionService promotionService;
+
+    private CartService cartService;
+
+    @BeforeEach
+    void setUp() {
+        // Amounts come from a real PricingEngine, so it is built here rather than injected as a mock
+        cartService = new CartService(cartRepository, cartItemRepository, productRepository, productVariantRepository,
+                TestFixtures.pricingEngine(promotionService), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGetCart_ShouldReturnEmptyCartWithoutCreatingOne() {
+        // Given
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        CartResponse cart = cartService.getCart(1L);
+
+        // Then
+        assertNull(cart.getId());
+        assertEquals(1L, cart.getUserId());
+        assertTrue(cart.getItems().isEmpty());
+        assertEquals(0, cart.getTotalItems());
+        assertEquals(BigDecimal.ZERO, cart.getTotalPrice());
+        verify(cartRepository, never()).insertIfAbsent(anyLong());
+        verify(cartRepository, never()).save(any());
+        verifyNoInteractions(cartItemRepository);
+    }
+
+    @Test
+    void testAddToCart_ShouldCreateCartOnFirstAdd() {
+        // Given
+        Cart cart = cart(10L, 1L);
+        Product product = product(5L);
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(cartRepository.findByUserIdForShare(1L)).thenReturn(Optional.of(cart));
+        when(productRepository.findByIdAndIsActiveTrue(5L)).thenReturn(Optional.of(product));
+        when(productVariantRepository.findByIdAndIsActiveTrue(50L))
+                .thenReturn(Optional.of(variant(50L, product, "M", 3)));
+        when(cartItemRepository.findByCartId(10L)).thenReturn(List.of());
+
+        // When
+        CartResponse response = cartService.addToCart(1L, addRequest(5L, 50L, 2));
+
+        // Then
+        assertEquals(10L, response.getId());
+        verify(cartRepository).insertIfAbsent(1L);
+        verify(cartItemRepository).addQuantity(10L, 5L, 50L, 2);
+        verify(cartItemRepository, never()).save(any());
+    }
+
+    @Test
+    void testAddToCart_ShouldRejectVariantOfAnotherProduct() {
+        // Given
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart(10L, 1L)));
+        when(productRepository.findByIdAndIsActiveTrue(5L)).thenReturn(Optional.of(product(5L)));
+        when(productVariantRepository.findByIdAndIsActiveTrue(60L))
+                .thenReturn(Optional.of(variant(60L, product(6L), "M", 3)));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> cartService.addToCart(1L, addRequest(5L, 60L, 1)));
+        verify(cartItemRepository, never()).addQuantity(anyLong(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testAddToCart_ShouldFallBackToTheOnlyActiveVariant() {
+        // Given
+        Product product = product(5L);
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart(10L, 1L)));
+        when(productRepository.findByIdAndIsActiveTrue(5L)).thenReturn(Optional.of(product));
+        when(productVariantRepository.findByProductIdAndIsActiveTrue(5L))
+                .thenReturn(List.of(variant(50L, product, "M", 3)));
+        when(cartItemRepository.findByCartId(10L)).thenReturn(List.of());
+
+        // When
+        cartService.addToCart(1L, addRequest(5L, null, 1));
+
+        // Then
+        verify(cartItemRepository).addQuantity(10L, 5L, 50L, 1);
+    }
+
+    @Test
+    void testAddToCart_ShouldRequireVariantWhenProductHasSeveral() {
+        // Given
+        Product product = product(5L);
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart(10L, 1L)));
+        when(productRepository.findByIdAndIsActiveTrue(5L)).thenReturn(Optional.of(product));
+        when(productVariantRepository.findByProductIdAndIsActiveTrue(5L))
+                .thenReturn(List.of(variant(50L, product, "M", 3), variant(51L, product, "L", 3)));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> cartService.addToCart(1L, addRequest(5L, null, 1)));
+        verify(cartItemRepository, never()).addQuantity(anyLong(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetCart_ShouldReportVariantAvailabilityFromOneBatchLookup() {
+        // Given
+        Cart cart = cart(10L, 1L);
+        Product product = product(5L);
+        ProductVariant inStock = variant(50L, product, "M", 5);
+        ProductVariant lowStock = variant(51L, product, "L", 1);
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartId(10L))
+                .thenReturn(List.of(cartItem(cart, inStock, 2), cartItem(cart, lowStock, 2)));
+        when(productVariantRepository.findAllById(any())).thenReturn(List.of(inStock, lowStock));
+
+        // When
+        CartResponse response = cartService.getCart(1L);
+
+        // Then
+        assertEquals("M", response.getItems().get(0).getSize());
+        assertTrue(response.getItems().get(0).getAvailable());
+        assertEquals(1, response.getItems().get(1).getAvailableStock());
+        assertFalse(response.getItems().get(1).getAvailable());
+        verify(productVariantRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void testClearCart_ShouldBeNoOpWithoutCart() {
+        // Given
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertDoesNotThrow(() -> cartService.clearCart(1L));
+        verify(cartItemRepository, never()).deleteByCartId(anyLong());
+    }
+
+    private static AddToCartRequest addRequest(Long productId, Long variantId, int quantity) {
+        AddToCartRequest request = new AddToCartRequest();
+        request.setProductId(productId);
+        request.setVariantId(variantId);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
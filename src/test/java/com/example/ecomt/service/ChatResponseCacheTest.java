@@ -0,0 +1,90 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ChatResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatResponseCacheTest {
+
+    private CatalogVersionService catalogVersionService;
+    private ChatResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionService = new CatalogVersionService();
+        cache = new ChatResponseCache(catalogVersionService);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void testNormalize_ShouldStripDiacriticsAndStopWords() {
+        assertEquals("ao khoac", ChatResponseCache.normalize("Có áo khoác nào không?"));
+        assertEquals("gia re nhat", ChatResponseCache.normalize("  Giá RẺ nhất!! "));
+        assertEquals("dong ho", ChatResponseCache.normalize("Đồng hồ"));
+        assertEquals("", ChatResponseCache.normalize("có không"));
+    }
+
+    @Test
+    void testEquivalentQuestions_ShouldShareCacheEntry() {
+        String key = cache.keyFor("có áo khoác nào không");
+        cache.put(key, response("Có, shop có nhiều áo khoác"));
+
+        ChatResponse cached = cache.get(cache.keyFor("Áo khoác???"));
+
+        assertNotNull(cached);
+        assertEquals("Có, shop có nhiều áo khoác", cached.getMessage());
+        assertEquals(1L, cache.getHits());
+    }
+
+    @Test
+    void testCatalogChange_ShouldInvalidateCachedAnswers() {
+        cache.put(cache.keyFor("giá rẻ nhất"), response("100000 VND"));
+
+        catalogVersionService.bump();
+
+        assertNull(cache.get(cache.keyFor("giá rẻ nhất")));
+        assertEquals(1L, cache.getMisses());
+    }
+
+    @Test
+    void testSizeBound_ShouldEvictLeastRecentlyUsed() {
+        String first = cache.keyFor("áo khoác");
+        String second = cache.keyFor("quần jean");
+        String third = cache.keyFor("giày thể thao");
+        cache.put(first, response("1"));
+        cache.put(second, response("2"));
+        cache.get(first);
+        cache.put(third, response("3"));
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void testExpiredEntries_ShouldNotBeServed() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        String key = cache.keyFor("áo khoác");
+        cache.put(key, response("1"));
+
+        assertNull(cache.get(key));
+    }
+
+    private ChatResponse response(String message) {
+        ChatResponse response = new ChatResponse();
+        response.setMessage(message);
+        response.setSuggestedProducts(new ArrayList<>());
+        response.setSuggestedCategories(new ArrayList<>());
+        response.setSuggestedBrands(List.of());
+        return response;
+    }
+}
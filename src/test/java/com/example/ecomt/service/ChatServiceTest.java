@@ -0,0 +1,81 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ChatRequest;
+import com.example.ecomt.dto.ChatResponse;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceTest {
+
+    @Mock
+    private GeminiService geminiService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private ChatResponseCache chatResponseCache;
+
+    @Mock
+    private ConversationMemoryService conversationMemoryService;
+
+    @InjectMocks
+    private ChatService chatService;
+
+    @Test
+    void testProcessChat_ShouldContinueAnIssuedConversation() {
+        // Given
+        String issuedId = UUID.randomUUID().toString();
+        when(conversationMemoryService.find(issuedId)).thenReturn(new ConversationMemoryService.Conversation(
+                issuedId, "", List.of(new ConversationMemoryService.Turn("Có giày Nike không?", "Có ạ.")), List.of()));
+        when(geminiService.generateResponse(anyString())).thenReturn("Shop còn size 42.");
+
+        // When
+        ChatResponse response = chatService.processChat(new ChatRequest("Còn size 42 không?", issuedId));
+
+        // Then
+        assertEquals(issuedId, response.getConversationId());
+        verify(geminiService).generateResponse(contains("Có giày Nike không?"));
+        verify(conversationMemoryService).recordTurn(eq(issuedId), eq("Còn size 42 không?"), eq("Shop còn size 42."),
+                any());
+    }
+
+    @Test
+    void testProcessChat_ShouldStartANewConversationForAnIdItDidNotIssue() {
+        // Given
+        String unknownId = UUID.randomUUID().toString();
+        when(geminiService.generateResponse(anyString())).thenReturn("Xin chào!");
+
+        // When
+        ChatResponse unknown = chatService.processChat(new ChatRequest("Xin chào", unknownId));
+        ChatResponse madeUp = chatService.processChat(new ChatRequest("Xin chào", "victim"));
+
+        // Then
+        assertNotEquals(unknownId, unknown.getConversationId());
+        assertNotEquals("victim", madeUp.getConversationId());
+        assertDoesNotThrow(() -> UUID.fromString(madeUp.getConversationId()));
+        verify(conversationMemoryService, never()).find("victim");
+        verify(conversationMemoryService, never()).recordTurn(eq(unknownId), any(), any(), any());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ecomt.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConversationMemoryServiceTest {
+
+    private ConversationMemoryService memory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        memory = new ConversationMemoryService(mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(memory, "maxHistoryTokens", 50);
+        ReflectionTestUtils.setField(memory, "summaryMaxChars", 600);
+        ReflectionTestUtils.setField(memory, "idleExpiryMinutes", 30L);
+        ReflectionTestUtils.setField(memory, "maxTotalTokens", 10_000L);
+    }
+
+    @Test
+    void testRecordTurn_ShouldKeepHistoryAndMentionedProducts() {
+        memory.recordTurn("c1", "Có áo khoác không?", "Có ạ", List.of(1L, 2L));
+
+        ConversationMemoryService.Conversation conversation = memory.find("c1");
+
+        assertNotNull(conversation);
+        assertEquals(1, conversation.getTurns().size());
+        assertTrue(conversation.getMentionedProductIds().containsAll(List.of(1L, 2L)));
+        assertNull(memory.find("unknown"));
+    }
+
+    @Test
+    void testHistoryOverBudget_ShouldFoldOldestTurnsIntoSummary() {
+        String longAnswer = "x".repeat(120);
+        memory.recordTurn("c1", "câu hỏi thứ nhất", longAnswer, List.of());
+        memory.recordTurn("c1", "câu hỏi thứ hai", longAnswer, List.of());
+
+        ConversationMemoryService.Conversation conversation = memory.find("c1");
+
+        assertEquals(1, conversation.getTurns().size());
+        assertEquals("câu hỏi thứ hai", conversation.getTurns().get(0).getUserMessage());
+        assertTrue(conversation.getSummary().contains("câu hỏi thứ nhất"));
+    }
+
+    @Test
+    void testGlobalCap_ShouldEvictLeastRecentlyUsedConversation() {
+        ReflectionTestUtils.setField(memory, "maxTotalTokens", 40L);
+        String answer = "y".repeat(80);
+        memory.recordTurn("old", "a", answer, List.of());
+        memory.recordTurn("new", "b", answer, List.of());
+
+        assertNull(memory.find("old"));
+        assertNotNull(memory.find("new"));
+        assertTrue(memory.totalTokens() <= 40L);
+    }
+}
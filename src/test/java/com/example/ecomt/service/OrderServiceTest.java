@@ -0,0 +1,217 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.CreateOrderRequest;
+import com.example.ecomt.dto.OrderDetailResponse;
+import com.example.ecomt.dto.OrderResponse;
+import com.example.ecomt.entity.*;
+import com.example.ecomt.event.OrderPlaced;
+import com.example.ecomt.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static com.example.ecomt.service.TestFixtures.cart;
+import static com.example.ecomt.service.TestFixtures.cartItem;
+import static com.example.ecomt.service.TestFixtures.product;
+import static com.example.ecomt.service.TestFixtures.variant;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderDetailRepository orderDetailRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+
+    @Mock
+    private ProductReadModelService productReadModelService;
+
+    @Mock
+    private PromotionService promotionService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private final Cart cart = cart(10L, 1L);
+    private OrderService orderService;
+    private final List<OrderDetail> savedDetails = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Amounts come from a real PricingEngine, so it is built here rather than injected as a mock
+        orderService = new OrderService(orderRepository, orderDetailRepository, cartRepository, cartItemRepository,
+                userRepository, productRepository, productVariantRepository, productReadModelService,
+                TestFixtures.pricingEngine(promotionService), promotionService, new SimpleMeterRegistry(),
+                outboxService);
+    }
+
+    @Test
+    void testCheckout_ShouldDecrementVariantStockInIdOrderAndKeepVariantOnLines() {
+        // Given
+        Product product = product(5L);
+        givenCart(cartItem(cart, variant(52L, product, "L", 2), 1), cartItem(cart, variant(51L, product, "M", 2), 2));
+        givenOrderIsSaved();
+        when(productVariantRepository.decrementStock(anyLong(), anyInt(), any())).thenReturn(1);
+
+        // When
+        OrderResponse response = orderService.createOrderFromCart(1L, request());
+
+        // Then
+        InOrder inOrder = inOrder(productRepository, productVariantRepository, productReadModelService);
+        inOrder.verify(productRepository).findAllByIdForUpdate(new TreeSet<>(List.of(5L)));
+        inOrder.verify(productVariantRepository).decrementStock(eq(51L), eq(2), any());
+        inOrder.verify(productVariantRepository).decrementStock(eq(52L), eq(1), any());
+        inOrder.verify(productReadModelService).refreshById(5L);
+        assertEquals(List.of("L", "M"), response.getOrderDetails().stream().map(OrderDetailResponse::getSize).toList());
+        assertEquals(52L, response.getOrderDetails().get(0).getVariantId());
+        // The ordered lines leave the cart in the checkout transaction
+        verify(cartItemRepository).deleteOrderedLine(51L, 2);
+        verify(cartItemRepository).deleteOrderedLine(52L, 1);
+        verify(outboxService).append(eq(100L), any(OrderPlaced.class));
+        verify(productReadModelService, times(1)).refreshById(5L);
+    }
+
+    @Test
+    void testCheckout_ShouldChargeServerSideAmountsAndSnapshotUnitPrices() {
+        // Given
+        Product product = product(5L, 150_000, 120_000L);
+        givenCart(cartItem(cart, variant(51L, product, "M", 2), 2), cartItem(cart, variant(52L, product, "L", 2), 1));
+        givenOrderIsSaved();
+        when(productVariantRepository.decrementStock(anyLong(), anyInt(), any())).thenReturn(1);
+
+        // When
+        OrderResponse response = orderService.createOrderFromCart(1L, request());
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(360_000).compareTo(response.getTotalPrice()));
+        assertEquals(0, BigDecimal.valueOf(30_000).compareTo(response.getShippingFee()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getDiscountAmount()));
+        assertEquals(0, BigDecimal.valueOf(390_000).compareTo(response.getFinalTotal()));
+        assertTrue(savedDetails.stream().allMatch(d -> d.getPrice().compareTo(BigDecimal.valueOf(120_000)) == 0));
+    }
+
+    @Test
+    void testCheckout_ShouldApplyTheClaimedPromotionRatherThanTheBestQuoted() {
+        // Given
+        givenCart(cartItem(cart, variant(51L, product(5L), "M", 2), 2));
+        givenOrderIsSaved();
+        when(productVariantRepository.decrementStock(anyLong(), anyInt(), any())).thenReturn(1);
+        PromotionIndex.Match coupon = new PromotionIndex.Match(7L, "SALE50", BigDecimal.valueOf(50_000), true);
+        PromotionIndex.Match automatic = new PromotionIndex.Match(8L, null, BigDecimal.valueOf(20_000), false);
+        when(promotionService.evaluate(any(), any(), eq("sale50"))).thenReturn(List.of(coupon, automatic));
+        when(promotionService.claim(List.of(coupon, automatic))).thenReturn(automatic);
+        Promotion promotion = new Promotion();
+        promotion.setId(8L);
+        when(promotionService.getReference(8L)).thenReturn(promotion);
+        CreateOrderRequest request = request();
+        request.setCouponCode("sale50");
+
+        // When
+        OrderResponse response = orderService.createOrderFromCart(1L, request);
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(20_000).compareTo(response.getDiscountAmount()));
+        assertEquals(0, BigDecimal.valueOf(310_000).compareTo(response.getFinalTotal()));
+        assertEquals(8L, response.getPromotionId());
+    }
+
+    @Test
+    void testCheckout_ShouldFailWithoutOrderWhenAVariantIsShort() {
+        // Given
+        Product product = product(5L);
+        givenCart(cartItem(cart, variant(51L, product, "M", 2), 1), cartItem(cart, variant(52L, product, "L", 2), 3));
+        when(productVariantRepository.decrementStock(eq(51L), anyInt(), any())).thenReturn(1);
+        when(productVariantRepository.decrementStock(eq(52L), anyInt(), any())).thenReturn(0);
+
+        // When
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orderService.createOrderFromCart(1L, request()));
+
+        // Then
+        assertTrue(ex.getMessage().contains("Insufficient stock"));
+        assertTrue(ex.getMessage().contains("L"));
+        verify(orderRepository, never()).save(any());
+        verify(outboxService, never()).append(any(), any());
+        verify(productReadModelService, never()).refreshById(anyLong());
+        verify(promotionService, never()).claim(any());
+    }
+
+    @Test
+    void testCheckout_ShouldFailWhenAnotherCheckoutTookTheCartLines() {
+        // Given
+        Product product = product(5L);
+        givenCart(cartItem(cart, variant(51L, product, "M", 2), 1), cartItem(cart, variant(52L, product, "L", 2), 1));
+        when(cartItemRepository.deleteOrderedLine(52L, 1)).thenReturn(0);
+
+        // When
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orderService.createOrderFromCart(1L, request()));
+
+        // Then
+        assertTrue(ex.getMessage().contains("Cart has changed"));
+        verify(productVariantRepository, never()).decrementStock(anyLong(), anyInt(), any());
+        verify(orderRepository, never()).save(any());
+        verify(outboxService, never()).append(any(), any());
+    }
+
+    private void givenCart(CartItem... lines) {
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findWithProductAndVariantByCartId(10L)).thenReturn(List.of(lines));
+        when(cartItemRepository.deleteOrderedLine(anyLong(), anyInt())).thenReturn(1);
+    }
+
+    private void givenOrderIsSaved() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(cart.getUser()));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(100L);
+            return order;
+        });
+        when(orderDetailRepository.save(any(OrderDetail.class))).thenAnswer(invocation -> {
+            savedDetails.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(orderDetailRepository.findByOrderId(100L)).thenReturn(savedDetails);
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setShippingAddress("123 Main Street");
+        request.setShippingCity("Ho Chi Minh City");
+        request.setShippingPhone("0123456789");
+        request.setPaymentMethod(Order.PaymentMethod.COD);
+        return request;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.Order;
+import com.example.ecomt.entity.OutboxEvent;
+import com.example.ecomt.event.OrderStatusChanged;
+import com.example.ecomt.event.ProductChanged;
+import com.example.ecomt.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<OutboxEvent> rows = new ArrayList<>();
+    private final List<Object> delivered = new ArrayList<>();
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(repository, new ObjectMapper());
+    }
+
+    @Test
+    void testRelay_ShouldDeliverTypedEventsInOrderAndMarkThemPublished() {
+        // Given
+        givenOutboxTable();
+        outboxService.append(1L, new ProductChanged(1L, ProductChanged.Change.UPDATED));
+        outboxService.append(5L, new OrderStatusChanged(5L, 9L, Order.OrderStatus.PENDING, Order.OrderStatus.COMPLETED));
+
+        // When
+        relay(this::deliverUnless13, transactionManager).relayPending();
+
+        // Then
+        assertEquals(List.of(new ProductChanged(1L, ProductChanged.Change.UPDATED),
+                new OrderStatusChanged(5L, 9L, Order.OrderStatus.PENDING, Order.OrderStatus.COMPLETED)), delivered);
+        assertTrue(rows.stream().allMatch(row -> row.getPublishedAt() != null));
+        assertEquals(2.0, meterRegistry.get("outbox.events.published").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void testRelay_ShouldRetryOnlyTheEventWhoseSubscriberFailed() {
+        // Given
+        givenOutboxTable();
+        outboxService.append(13L, new ProductChanged(13L, ProductChanged.Change.UPDATED));
+        outboxService.append(14L, new ProductChanged(14L, ProductChanged.Change.UPDATED));
+
+        // When
+        relay(this::deliverUnless13, transactionManager).relayPending();
+
+        // Then
+        assertEquals(List.of(new ProductChanged(14L, ProductChanged.Change.UPDATED)), delivered);
+        OutboxEvent failed = rows.get(0);
+        assertNull(failed.getPublishedAt());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("subscriber down", failed.getLastError());
+        // A batch with a failure ends the run instead of immediately re-claiming the failed event
+        verify(repository, times(1)).claimUnpublished(anyInt(), any());
+    }
+
+    @Test
+    void testRelay_ShouldRecordTheAttemptWhenATransactionalSubscriberFails() {
+        // Given
+        givenOutboxTable();
+        RecordingTransactionManager recordingTransactionManager = new RecordingTransactionManager();
+        TransactionTemplate subscriberTransaction = new TransactionTemplate(recordingTransactionManager);
+        // Like an @Transactional listener: joins the relay's transaction and throws
+        OutboxRelay transactionalRelay = relay(event -> subscriberTransaction.executeWithoutResult(
+                status -> deliverUnless13(event)), recordingTransactionManager);
+        outboxService.append(13L, new ProductChanged(13L, ProductChanged.Change.UPDATED));
+        outboxService.append(14L, new ProductChanged(14L, ProductChanged.Change.UPDATED));
+
+        // When
+        transactionalRelay.relayPending();
+
+        // Then
+        // The failing event's transaction rolls back on its own; the batch, with the attempt, commits
+        assertEquals(List.of("rollback", "commit", "commit"), recordingTransactionManager.outcomes);
+        assertEquals(List.of(new ProductChanged(14L, ProductChanged.Change.UPDATED)), delivered);
+        assertEquals(1, rows.get(0).getAttempts());
+        assertNotNull(rows.get(1).getPublishedAt());
+    }
+
+    @Test
+    void testAppend_ShouldRejectUnregisteredEventTypes() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> outboxService.append(1L, "not an event"));
+        verify(repository, never()).save(any());
+    }
+
+    /**
+     * Back the repository with {@link #rows}, claiming unpublished rows two at a time.
+     */
+    private void givenOutboxTable() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            OutboxEvent row = invocation.getArgument(0);
+            row.setId((long) rows.size() + 1);
+            rows.add(row);
+            return row;
+        });
+        when(repository.claimUnpublished(anyInt(), any())).thenAnswer(invocation ->
+                rows.stream().filter(row -> row.getPublishedAt() == null).limit(2).toList());
+    }
+
+    private OutboxRelay relay(ApplicationEventPublisher publisher, PlatformTransactionManager manager) {
+        return new OutboxRelay(repository, outboxService, publisher, manager, meterRegistry, 2, 3, Duration.ofDays(7));
+    }
+
+    private void deliverUnless13(Object event) {
+        if (event instanceof ProductChanged changed && changed.getProductId() == 13L) {
+            throw new IllegalStateException("subscriber down");
+        }
+        delivered.add(event);
+    }
+
+    /**
+     * Just enough of a transaction manager to tell apart independent transactions, joined
+     * ones that are marked rollback-only, and how each one ended.
+     */
+    private static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final List<String> outcomes = new ArrayList<>();
+        private Transaction bound;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new TransactionObject(bound);
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((TransactionObject) transaction).transaction != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            bound = new Transaction();
+            ((TransactionObject) transaction).transaction = bound;
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            Transaction suspended = bound;
+            bound = null;
+            ((TransactionObject) transaction).transaction = null;
+            return suspended;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            bound = (Transaction) suspendedResources;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            outcomes.add("commit");
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            outcomes.add("rollback");
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((TransactionObject) status.getTransaction()).transaction.rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            bound = null;
+        }
+
+        private static final class Transaction {
+            private boolean rollbackOnly;
+        }
+
+        private static final class TransactionObject implements SmartTransactionObject {
+            private Transaction transaction;
+
+            TransactionObject(Transaction transaction) {
+                this.transaction = transaction;
+            }
+
+            @Override
+            public boolean isRollbackOnly() {
+                return transaction != null && transaction.rollbackOnly;
+            }
+
+            @Override
+            public void flush() {
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.Promotion;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.PromotionRepository;
+import com.example.ecomt.repository.UpdateStamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.ecomt.service.TestFixtures.cartItem;
+import static com.example.ecomt.service.TestFixtures.product;
+import static com.example.ecomt.service.TestFixtures.promotion;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private UpdateStamp updateStamp;
+
+    @InjectMocks
+    private PromotionService promotionService;
+
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = TestFixtures.pricingEngine(promotionService);
+    }
+
+    @Test
+    void testEffectivePrice_ShouldIgnoreDiscountAbovePrice() {
+        assertEquals(BigDecimal.TEN, PricingEngine.effectivePrice(BigDecimal.TEN, null));
+        assertEquals(BigDecimal.TEN, PricingEngine.effectivePrice(BigDecimal.TEN, BigDecimal.valueOf(11)));
+        assertEquals(BigDecimal.ONE, PricingEngine.effectivePrice(BigDecimal.TEN, BigDecimal.ONE));
+    }
+
+    @Test
+    void testQuote_ShouldTotalLinesAndAddShippingBelowThreshold() {
+        // Given
+        Product shirt = product(1L, 150_000, 120_000L);
+        Product jeans = product(2L, 200_000, null);
+
+        // When
+        PricingEngine.Quote quote = pricingEngine.quote(List.of(cartItem(shirt, 2), cartItem(jeans, 1)));
+
+        // Then
+        assertEquals(3, quote.getTotalItems());
+        assertEquals(0, BigDecimal.valueOf(240_000).compareTo(quote.getLines().get(0).getLineTotal()));
+        assertEquals(0, BigDecimal.valueOf(440_000).compareTo(quote.getSubtotal()));
+        assertEquals(0, BigDecimal.valueOf(30_000).compareTo(quote.getShippingFee()));
+        assertEquals(0, BigDecimal.valueOf(470_000).compareTo(quote.getTotal()));
+    }
+
+    @Test
+    void testQuote_ShouldShipFreeFromThresholdAndForEmptyCart() {
+        // Given
+        Product shirt = product(1L, 250_000, null);
+
+        // When
+        PricingEngine.Quote atThreshold = pricingEngine.quote(List.of(cartItem(shirt, 2)));
+        PricingEngine.Quote empty = pricingEngine.quote(List.of());
+
+        // Then
+        assertEquals(0, BigDecimal.ZERO.compareTo(atThreshold.getShippingFee()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(empty.getTotal()));
+    }
+
+    @Test
+    void testQuote_ShouldResolveUnitPriceOncePerProduct() {
+        // Given
+        Product shirt = product(1L, 150_000, 120_000L);
+
+        // When
+        PricingEngine.Quote quote = pricingEngine.quote(List.of(cartItem(shirt, 1), cartItem(shirt, 1)));
+
+        // Then
+        assertSame(quote.getLines().get(0).getUnitPrice(), quote.getLines().get(1).getUnitPrice());
+    }
+
+    @Test
+    void testQuote_ShouldApplyBestPromotionAfterShippingIsDecided() {
+        // Given
+        Promotion tenPercent = promotion(1L, null, Promotion.DiscountType.PERCENTAGE, 10);
+        when(promotionRepository.findUpdateStamp()).thenReturn(updateStamp);
+        when(promotionRepository.findByIsActiveTrue()).thenReturn(List.of(tenPercent));
+        promotionService.reload();
+
+        // When
+        PricingEngine.Quote quote = pricingEngine.quote(List.of(cartItem(product(1L, 250_000, null), 2)));
+
+        // Then
+        assertEquals(1L, quote.getPromotion().getPromotionId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(quote.getShippingFee()));
+        assertEquals(0, BigDecimal.valueOf(50_000).compareTo(quote.getDiscountAmount()));
+        assertEquals(0, BigDecimal.valueOf(450_000).compareTo(quote.getTotal()));
+        assertEquals(0, BigDecimal.valueOf(500_000).compareTo(quote.withPromotion(null).getTotal()));
+    }
+}
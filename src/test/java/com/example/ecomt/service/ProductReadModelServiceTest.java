@@ -0,0 +1,126 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ProductBatchResponse;
+import com.example.ecomt.dto.ProductResponse;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.ProductReadModel;
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.repository.ProductReadModelRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.example.ecomt.repository.ProductVariantRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.example.ecomt.service.TestFixtures.brand;
+import static com.example.ecomt.service.TestFixtures.category;
+import static com.example.ecomt.service.TestFixtures.variant;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReadModelServiceTest {
+
+    @Mock
+    private ProductReadModelRepository readModelRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductVariantRepository variantRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @InjectMocks
+    private ProductReadModelService service;
+
+    @Test
+    void testToReadModel_ShouldDenormalizeNamesPriceAndStock() {
+        // Given
+        Product product = productWithVariants();
+
+        // When
+        ProductReadModel row = service.toReadModel(product, product.getVariants());
+
+        // Then
+        assertEquals("Áo thun", row.getCategoryName());
+        assertEquals("Nike", row.getBrandName());
+        assertEquals(0, BigDecimal.valueOf(120000).compareTo(row.getEffectivePrice()));
+        assertEquals(3, row.getMinVariantStock());
+        assertEquals(9, row.getMaxVariantStock());
+        assertTrue(row.getIsActive());
+    }
+
+    @Test
+    void testGetActiveProduct_ShouldServeTheStoredDocument() {
+        // Given
+        Product product = productWithVariants();
+        ProductReadModel row = service.toReadModel(product, product.getVariants());
+        when(readModelRepository.findByProductIdAndIsActiveTrue(7L)).thenReturn(Optional.of(row));
+
+        // When
+        ProductResponse response = service.getActiveProduct(7L);
+
+        // Then
+        assertEquals("Product 7", response.getName());
+        assertEquals(3, response.getVariants().size());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), response.getUpdatedAt());
+    }
+
+    @Test
+    void testBatch_ShouldKeepRequestOrderAndReportMissingIds() {
+        // Given
+        // Rows are serialized through the ObjectMapper spy, so they are built before stubbing starts
+        List<ProductReadModel> rows = List.of(
+                service.toReadModel(product(1L), List.of()), service.toReadModel(product(3L), List.of()));
+        when(readModelRepository.findByProductIdInAndIsActiveTrue(any())).thenReturn(rows);
+
+        // When
+        ProductBatchResponse response = service.getActiveProductsByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Then
+        assertEquals(List.of(3L, 1L), response.getProducts().stream().map(ProductResponse::getId).toList());
+        assertEquals(List.of(2L), response.getMissingIds());
+    }
+
+    @Test
+    void testBatch_ShouldRejectTooManyIds() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ProductReadModelService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> service.getActiveProductsByIds(ids));
+        verifyNoInteractions(readModelRepository);
+    }
+
+    private static Product productWithVariants() {
+        Product product = product(7L);
+        product.setDiscountPrice(BigDecimal.valueOf(120000));
+        ProductVariant inactive = variant(73L, product, "L", 0);
+        inactive.setIsActive(false);
+        product.setVariants(List.of(variant(71L, product, "M", 3), variant(72L, product, "M", 9), inactive));
+        return product;
+    }
+
+    private static Product product(Long id) {
+        Product product = TestFixtures.product(id);
+        product.setCategory(category(1L, "Áo thun"));
+        product.setBrand(brand(2L, "Nike"));
+        product.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        return product;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.dto.ProductSummaryResponse;
+import com.example.ecomt.repository.BrandRepository;
+import com.example.ecomt.repository.CategoryRepository;
+import com.example.ecomt.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private ProductReadModelService productReadModelService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @Test
+    void testSummaries_ShouldUseProjectionAndKeepOnlySelectedFields() throws Exception {
+        when(productRepository.findActiveSummaries()).thenReturn(new ArrayList<>(List.of(
+                new ProductSummaryResponse(1L, "Áo thun", BigDecimal.valueOf(150000), null, "a.jpg"))));
+
+        List<ProductSummaryResponse> summaries =
+                productService.getActiveProductSummaries(ProductSummaryResponse.parseFields("id,name,price"));
+
+        assertEquals(1L, summaries.get(0).getId());
+        assertNull(summaries.get(0).getImage());
+        assertEquals("[{\"id\":1,\"name\":\"Áo thun\",\"price\":150000}]",
+                new ObjectMapper().writeValueAsString(summaries));
+        verify(productRepository, never()).findByIsActiveTrue();
+    }
+
+    @Test
+    void testParseFields_ShouldNormalizeSelection() {
+        assertEquals(Set.of("image", "name"), ProductSummaryResponse.parseFields(" name , image,,"));
+        assertEquals(Set.copyOf(ProductSummaryResponse.FIELDS), ProductSummaryResponse.parseFields(""));
+        assertEquals("[image, name]", ProductSummaryResponse.parseFields("name,image").toString());
+    }
+
+    @Test
+    void testParseFields_ShouldRejectFieldsOutsideSummary() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> ProductSummaryResponse.parseFields("name,description"));
+        assertTrue(ex.getMessage().contains("description"));
+    }
+}
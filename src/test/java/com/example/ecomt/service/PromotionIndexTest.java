@@ -0,0 +1,138 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.Promotion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.ecomt.service.TestFixtures.brand;
+import static com.example.ecomt.service.TestFixtures.cartItem;
+import static com.example.ecomt.service.TestFixtures.category;
+import static com.example.ecomt.service.TestFixtures.promotion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Test
+    void testEvaluate_ShouldDiscountOnlyTheLinesAPromotionIsScopedTo() {
+        // Given
+        Promotion shoes = promotion(1L, null, Promotion.DiscountType.PERCENTAGE, 10);
+        shoes.setCategoryId(10L);
+        Promotion nikeShoes = promotion(2L, null, Promotion.DiscountType.FIXED, 500_000);
+        nikeShoes.setCategoryId(10L);
+        nikeShoes.setBrandId(20L);
+        Promotion bags = promotion(3L, null, Promotion.DiscountType.PERCENTAGE, 50);
+        bags.setCategoryId(11L);
+        PromotionIndex index = PromotionIndex.compile(List.of(shoes, nikeShoes, bags));
+        List<PricingEngine.PricedLine> lines = List.of(
+                line(product(10L, 20L), 200_000), line(product(10L, 21L), 100_000), line(product(12L, 20L), 400_000));
+
+        // When
+        List<PromotionIndex.Match> matches = index.evaluate(lines, BigDecimal.valueOf(700_000), null, NOW);
+
+        // Then
+        assertEquals(List.of(2L, 1L), matches.stream().map(PromotionIndex.Match::getPromotionId).toList());
+        // Fixed amount capped at the Nike shoe line, percentage of both shoe lines
+        assertEquals(0, BigDecimal.valueOf(200_000).compareTo(matches.get(0).getDiscount()));
+        assertEquals(0, BigDecimal.valueOf(30_000).compareTo(matches.get(1).getDiscount()));
+    }
+
+    @Test
+    void testEvaluate_ShouldCapPercentageAndRespectMinimumAndSchedule() {
+        // Given
+        Promotion capped = promotion(1L, null, Promotion.DiscountType.PERCENTAGE, 20);
+        capped.setMaxDiscount(BigDecimal.valueOf(50_000));
+        Promotion highMinimum = promotion(2L, null, Promotion.DiscountType.FIXED, 100_000);
+        highMinimum.setMinSubtotal(BigDecimal.valueOf(1_000_000));
+        Promotion expired = promotion(3L, null, Promotion.DiscountType.FIXED, 100_000);
+        expired.setEndsAt(NOW);
+        Promotion upcoming = promotion(4L, null, Promotion.DiscountType.FIXED, 100_000);
+        upcoming.setStartsAt(NOW.plusDays(1));
+        PromotionIndex index = PromotionIndex.compile(List.of(capped, highMinimum, expired, upcoming));
+
+        // When
+        List<PromotionIndex.Match> matches = index.evaluate(List.of(line(product(10L, 20L), 600_000)),
+                BigDecimal.valueOf(600_000), null, NOW);
+
+        // Then
+        assertEquals(1, matches.size());
+        assertEquals(0, BigDecimal.valueOf(50_000).compareTo(matches.get(0).getDiscount()));
+    }
+
+    @Test
+    void testEvaluate_ShouldOfferCouponsOnlyByCaseInsensitiveCode() {
+        // Given
+        Promotion coupon = promotion(1L, "sale10", Promotion.DiscountType.PERCENTAGE, 10);
+        PromotionIndex index = PromotionIndex.compile(List.of(coupon));
+        List<PricingEngine.PricedLine> lines = List.of(line(product(10L, 20L), 300_000));
+
+        // When
+        List<PromotionIndex.Match> withoutCode = index.evaluate(lines, BigDecimal.valueOf(300_000), null, NOW);
+        PromotionIndex.Match match = index.evaluate(lines, BigDecimal.valueOf(300_000), " Sale10 ", NOW).get(0);
+
+        // Then
+        assertTrue(withoutCode.isEmpty());
+        assertTrue(match.isCoupon());
+        assertEquals("SALE10", match.getCode());
+        assertThrows(IllegalArgumentException.class,
+                () -> index.evaluate(lines, BigDecimal.valueOf(300_000), "UNKNOWN", NOW));
+    }
+
+    @Test
+    void testEvaluate_ShouldRejectCouponThatDoesNotApplyToTheCart() {
+        // Given
+        Promotion coupon = promotion(1L, "BAGS", Promotion.DiscountType.FIXED, 10_000);
+        coupon.setCategoryId(11L);
+        PromotionIndex index = PromotionIndex.compile(List.of(coupon));
+
+        // When
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> index.evaluate(
+                List.of(line(product(10L, 20L), 300_000)), BigDecimal.valueOf(300_000), "BAGS", NOW));
+
+        // Then
+        assertTrue(ex.getMessage().contains("does not apply"));
+    }
+
+    @Test
+    void testEvaluate_ShouldSkipUsedUpPromotions() {
+        // Given
+        Promotion usedUp = promotion(1L, null, Promotion.DiscountType.FIXED, 10_000);
+        usedUp.setUsageLimit(5);
+        usedUp.setUsedCount(5);
+        Promotion limited = promotion(2L, null, Promotion.DiscountType.FIXED, 5_000);
+        limited.setUsageLimit(5);
+        Promotion coupon = promotion(3L, "ONCE", Promotion.DiscountType.FIXED, 1_000);
+        coupon.setUsageLimit(1);
+        PromotionIndex index = PromotionIndex.compile(List.of(usedUp, limited, coupon));
+        List<PricingEngine.PricedLine> lines = List.of(line(product(10L, 20L), 300_000));
+
+        // When
+        List<PromotionIndex.Match> matches = index.evaluate(lines, BigDecimal.valueOf(300_000), null, NOW);
+        index.markExhausted(2L);
+        index.markExhausted(3L);
+
+        // Then
+        assertEquals(List.of(2L), matches.stream().map(PromotionIndex.Match::getPromotionId).toList());
+        assertTrue(matches.get(0).isLimited());
+        assertTrue(index.evaluate(lines, BigDecimal.valueOf(300_000), null, NOW).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> index.evaluate(lines, BigDecimal.valueOf(300_000), "ONCE", NOW));
+    }
+
+    private static PricingEngine.PricedLine line(Product product, long lineTotal) {
+        return new PricingEngine.PricedLine(cartItem(product, 1), BigDecimal.valueOf(lineTotal),
+                BigDecimal.valueOf(lineTotal));
+    }
+
+    private static Product product(Long categoryId, Long brandId) {
+        Product product = TestFixtures.product(categoryId * 100 + brandId);
+        product.setCategory(category(categoryId, "Category " + categoryId));
+        product.setBrand(brand(brandId, "Brand " + brandId));
+        return product;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ecomt.service;
+
+import com.example.ecomt.entity.Brand;
+import com.example.ecomt.entity.Cart;
+import com.example.ecomt.entity.CartItem;
+import com.example.ecomt.entity.Category;
+import com.example.ecomt.entity.Product;
+import com.example.ecomt.entity.ProductVariant;
+import com.example.ecomt.entity.Promotion;
+import com.example.ecomt.entity.User;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Entities for service tests, with just the fields the services read. Tests set whatever
+ * else a case depends on.
+ */
+final class TestFixtures {
+
+    static final BigDecimal SHIPPING_FEE = BigDecimal.valueOf(30_000);
+    static final BigDecimal FREE_SHIPPING_THRESHOLD = BigDecimal.valueOf(500_000);
+
+    private TestFixtures() {
+    }
+
+    static PricingEngine pricingEngine(PromotionService promotionService) {
+        return new PricingEngine(SHIPPING_FEE, FREE_SHIPPING_THRESHOLD, promotionService);
+    }
+
+    static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    static Cart cart(Long id, Long userId) {
+        Cart cart = new Cart();
+        cart.setId(id);
+        cart.setUser(user(userId));
+        return cart;
+    }
+
+    static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    static Brand brand(Long id, String name) {
+        Brand brand = new Brand();
+        brand.setId(id);
+        brand.setName(name);
+        return brand;
+    }
+
+    static Product product(Long id) {
+        return product(id, 150_000, null);
+    }
+
+    static Product product(Long id, long price, Long discountPrice) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setDiscountPrice(discountPrice != null ? BigDecimal.valueOf(discountPrice) : null);
+        product.setIsActive(true);
+        product.setVariants(new ArrayList<>());
+        return product;
+    }
+
+    static ProductVariant variant(Long id, Product product, String size, int stock) {
+        ProductVariant variant = new ProductVariant();
+        variant.setId(id);
+        variant.setProduct(product);
+        variant.setSize(size);
+        variant.setColor("Đen");
+        variant.setStockQuantity(stock);
+        variant.setIsActive(true);
+        return variant;
+    }
+
+    /**
+     * A cart line for the variant, with the variant's id as its own.
+     */
+    static CartItem cartItem(Cart cart, ProductVariant variant, int quantity) {
+        CartItem item = cartItem(variant.getProduct(), quantity);
+        item.setId(variant.getId());
+        item.setCart(cart);
+        item.setVariant(variant);
+        return item;
+    }
+
+    static CartItem cartItem(Product product, int quantity) {
+        CartItem item = new CartItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    static Promotion promotion(Long id, String code, Promotion.DiscountType type, long value) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setCode(code);
+        promotion.setName("Promotion " + id);
+        promotion.setDiscountType(type);
+        promotion.setDiscountValue(BigDecimal.valueOf(value));
+        promotion.setIsActive(true);
+        return promotion;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ecomt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testTryConsume_ShouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 60, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+
+        // 60 tokens per minute means the next token arrives after one second
+        assertEquals(SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    void testTryConsume_ShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 60, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(SECOND / 2) > 0);
+        assertEquals(0, bucket.tryConsume(SECOND));
+        assertFalse(bucket.isFull(SECOND));
+        assertTrue(bucket.isFull(2 * SECOND));
+    }
+
+    @Test
+    void testTryConsume_ShouldNeverOverAdmitUnderContention() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (bucket.tryConsume(0) == 0) {
+                    admitted.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(50, admitted.get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ecomt.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    @Test
+    void revokedTokenIsDeniedUntilExpiry() {
+        TokenDenylist denylist = new TokenDenylist();
+        long expiresAt = System.currentTimeMillis() + 60_000L;
+
+        denylist.revoke("jti-1", expiresAt);
+
+        assertTrue(denylist.isRevoked("jti-1"));
+        assertFalse(denylist.isRevoked("jti-2"));
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void alreadyExpiredTokensAreNotStored() {
+        TokenDenylist denylist = new TokenDenylist();
+
+        denylist.revoke("jti-old", System.currentTimeMillis() - 1_000L);
+
+        assertFalse(denylist.isRevoked("jti-old"));
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void unrelatedIdsAreNotReportedAfterManyRevocations() {
+        TokenDenylist denylist = new TokenDenylist();
+        long expiresAt = System.currentTimeMillis() + 60_000L;
+        for (int i = 0; i < 10_000; i++) {
+            denylist.revoke("revoked-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(denylist.isRevoked("active-" + i));
+        }
+        assertTrue(denylist.isRevoked("revoked-42"));
+    }
+
+    @Test
+    void nullIdIsNeverRevoked() {
+        assertFalse(new TokenDenylist().isRevoked(null));
+    }
+}